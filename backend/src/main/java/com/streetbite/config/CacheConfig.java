@@ -12,8 +12,12 @@ import java.time.Duration;
  * Cache configuration for cost-optimized geolocation flow
  * 
  * Caches:
- * 1. vendorSearch - Search results cache (5-10 minutes)
+ * 1. vendorSearch - Nearby search candidates per geohash cell (1 hour, evicted per cell on vendor changes)
  * 2. geocodingCache - Geocoding results cache (permanent in Firestore, in-memory for performance)
+ * 3. recommendations - Ranked vendors per preference tuple (cleared on menu and vendor changes)
+ * 4. menuItemNames - Menu item names for analytics (evicted per item on menu changes)
+ * 5. reviewSummaries - Star histogram and latest review ids per vendor (evicted on review changes)
+ * 6. userRanks - Leaderboard rank per user in database leaderboard mode (short-lived)
  */
 @Configuration
 public class CacheConfig {
@@ -21,18 +25,23 @@ public class CacheConfig {
     /**
      * Cache manager with multiple cache configurations
      * 
-     * Registers two separate caches:
-     * 1. vendorSearch - For search results (10 min TTL)
+     * Registers six separate caches:
+     * 1. vendorSearch - For search candidates, keyed by geohash cell (1h TTL)
      * 2. geocodingCache - For geocoding results (24h TTL)
+     * 3. recommendations - For ranked recommendation candidates (1h TTL)
+     * 4. menuItemNames - For menu item names by id (6h TTL)
+     * 5. reviewSummaries - For review summaries by vendor id (30m TTL)
+     * 6. userRanks - For user ranks by user id (30s TTL)
      */
     @Bean
     public CacheManager cacheManager() {
         CaffeineCacheManager manager = new CaffeineCacheManager();
         
-        // Configure vendor search cache (10 minutes TTL)
+        // Configure vendor search cache (1 hour TTL). VendorSearchCacheInvalidator evicts
+        // changed cells, the TTL only covers writes that bypass VendorService.
         manager.registerCustomCache("vendorSearch", 
             Caffeine.newBuilder()
-                .expireAfterWrite(Duration.ofMinutes(10))
+                .expireAfterWrite(Duration.ofHours(1))
                 .maximumSize(10_000)
                 .recordStats()
                 .build());
@@ -45,6 +54,43 @@ public class CacheConfig {
                 .recordStats()
                 .build());
         
+        // Configure recommendation cache (1 hour TTL). The preference domain is small, so
+        // the size bound is only a safety net against unbounded cuisine strings.
+        manager.registerCustomCache("recommendations",
+            Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofHours(1))
+                .maximumSize(1_000)
+                .recordStats()
+                .build());
+        
+        // Configure menu item name cache (6 hours TTL). MenuItemNameResolver evicts saved
+        // and deleted items.
+        manager.registerCustomCache("menuItemNames",
+            Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofHours(6))
+                .maximumSize(20_000)
+                .recordStats()
+                .build());
+        
+        // Configure review summary cache (30 minutes TTL). ReviewSummaryStore evicts a vendor's
+        // summary after review changes, stats recomputations and deletion commit; the TTL only
+        // covers changes made directly in the database.
+        manager.registerCustomCache("reviewSummaries",
+            Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(30))
+                .maximumSize(10_000)
+                .recordStats()
+                .build());
+        
+        // Configure user rank cache (30 seconds TTL). Ranks shift whenever anyone gains XP,
+        // so entries only absorb repeated stats requests; a user's own awards evict theirs.
+        manager.registerCustomCache("userRanks",
+            Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(30))
+                .maximumSize(50_000)
+                .recordStats()
+                .build());
+        
         return manager;
     }
 }
@@ -0,0 +1,102 @@
+package com.streetbite.config;
+
+import com.streetbite.model.MenuItem;
+import com.streetbite.model.Vendor;
+import com.streetbite.repository.MenuItemRepository;
+import com.streetbite.repository.VendorRepository;
+import com.streetbite.service.ImageExternalizationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One-off migration of existing base64 data:image values in vendors and menu_items
+ * to stored files. Rows are handled one at a time; failures are logged and skipped.
+ */
+@Component
+@ConditionalOnProperty(name = "streetbite.images.migrate-inline", havingValue = "true")
+public class InlineImageMigrationTask implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(InlineImageMigrationTask.class);
+
+    private final VendorRepository vendorRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final ImageExternalizationService imageExternalizationService;
+
+    public InlineImageMigrationTask(
+            VendorRepository vendorRepository,
+            MenuItemRepository menuItemRepository,
+            ImageExternalizationService imageExternalizationService) {
+        this.vendorRepository = vendorRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.imageExternalizationService = imageExternalizationService;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!imageExternalizationService.isEnabled()) {
+            logger.warn("Inline image migration skipped: streetbite.images.externalize-inline is disabled.");
+            return;
+        }
+        logger.info("Moving inline base64 images out of vendor and menu rows...");
+        int vendorCount = migrateVendors();
+        int menuItemCount = migrateMenuItems();
+        logger.info("Inline image migration finished: {} vendors, {} menu items updated.", vendorCount, menuItemCount);
+    }
+
+    private int migrateVendors() {
+        List<Long> vendorIds = vendorRepository.findIdsWithInlineImages();
+        int migrated = 0;
+
+        for (Long vendorId : vendorIds) {
+            try {
+                Vendor vendor = vendorRepository.findById(vendorId).orElse(null);
+                if (vendor == null) {
+                    continue;
+                }
+
+                String bannerImageUrl = imageExternalizationService.externalize(vendor.getBannerImageUrl());
+                String displayImageUrl = imageExternalizationService.externalize(vendor.getDisplayImageUrl());
+                if (!Objects.equals(bannerImageUrl, vendor.getBannerImageUrl())
+                        || !Objects.equals(displayImageUrl, vendor.getDisplayImageUrl())) {
+                    vendor.setBannerImageUrl(bannerImageUrl);
+                    vendor.setDisplayImageUrl(displayImageUrl);
+                    vendorRepository.save(vendor);
+                    migrated++;
+                }
+            } catch (Exception e) {
+                logger.warn("Could not migrate inline images for Vendor ID {}: {}", vendorId, e.getMessage());
+            }
+        }
+        return migrated;
+    }
+
+    private int migrateMenuItems() {
+        List<Long> menuItemIds = menuItemRepository.findIdsWithInlineImages();
+        int migrated = 0;
+
+        for (Long menuItemId : menuItemIds) {
+            try {
+                MenuItem menuItem = menuItemRepository.findById(menuItemId).orElse(null);
+                if (menuItem == null) {
+                    continue;
+                }
+
+                String imageUrl = imageExternalizationService.externalize(menuItem.getImageUrl());
+                if (!Objects.equals(imageUrl, menuItem.getImageUrl())) {
+                    menuItem.setImageUrl(imageUrl);
+                    menuItemRepository.save(menuItem);
+                    migrated++;
+                }
+            } catch (Exception e) {
+                logger.warn("Could not migrate inline image for MenuItem ID {}: {}", menuItemId, e.getMessage());
+            }
+        }
+        return migrated;
+    }
+}
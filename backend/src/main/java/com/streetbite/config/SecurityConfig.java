@@ -40,6 +40,9 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Streamed responses finish on an async dispatch of an already authorized request
+                        .dispatcherTypeMatchers(jakarta.servlet.DispatcherType.ASYNC).permitAll()
+
                         // Public — authentication endpoints
                         .requestMatchers("/api/auth/**").permitAll()
 
@@ -51,6 +54,7 @@ public class SecurityConfig {
 
                         // Public — read-only content
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/menu/**").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/files/download/**").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/reviews/**").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/promotions/**").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/hottopics").permitAll()
@@ -0,0 +1,36 @@
+package com.streetbite.config;
+
+import com.streetbite.service.VendorStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintenance run that recomputes every vendor's review count and ratings from the reviews
+ * table, for repairing drift after manual data fixes or imports.
+ */
+@Component
+@ConditionalOnProperty(name = "streetbite.vendor-stats.recompute-on-startup", havingValue = "true")
+public class VendorStatsRecomputeTask implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(VendorStatsRecomputeTask.class);
+
+    private final VendorStatsService vendorStatsService;
+
+    public VendorStatsRecomputeTask(VendorStatsService vendorStatsService) {
+        this.vendorStatsService = vendorStatsService;
+    }
+
+    @Override
+    public void run(String... args) {
+        logger.info("Recomputing vendor stats from reviews...");
+        try {
+            int changed = vendorStatsService.updateAllVendorStats();
+            logger.info("Vendor stats recomputed: {} vendors corrected.", changed);
+        } catch (Exception e) {
+            logger.warn("Failed to recompute vendor stats: {}", e.getMessage());
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.streetbite.model.User;
 import com.streetbite.model.Vendor;
 import com.streetbite.security.AuthenticatedUserService;
 import com.streetbite.service.AnalyticsService;
+import com.streetbite.service.PlatformAnalyticsSnapshot;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,12 +26,15 @@ public class AnalyticsController {
     private final AuthenticatedUserService authenticatedUserService;
     private final com.streetbite.repository.VendorRepository vendorRepository;
     private final AnalyticsService analyticsService;
+    private final PlatformAnalyticsSnapshot platformAnalyticsSnapshot;
 
     public AnalyticsController(
             AnalyticsService analyticsService,
+            PlatformAnalyticsSnapshot platformAnalyticsSnapshot,
             AuthenticatedUserService authenticatedUserService,
             com.streetbite.repository.VendorRepository vendorRepository) {
         this.analyticsService = analyticsService;
+        this.platformAnalyticsSnapshot = platformAnalyticsSnapshot;
         this.authenticatedUserService = authenticatedUserService;
         this.vendorRepository = vendorRepository;
     }
@@ -42,8 +47,16 @@ public class AnalyticsController {
                 return unauthorized("Login required");
             }
 
-            analyticsService.logEvent(event.getVendorId(), event.getEventType(), currentUser.getId(), event.getItemId());
-            return ResponseEntity.ok().build();
+            boolean queued = analyticsService.logEvent(
+                    event.getVendorId(), event.getEventType(), currentUser.getId(), event.getItemId());
+            if (!queued) {
+                return ResponseEntity.status(503)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(Map.of("error", "Analytics is busy, event was not recorded"));
+            }
+            return ResponseEntity.accepted().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
@@ -87,7 +100,7 @@ public class AnalyticsController {
                 return forbidden("Admin access only");
             }
 
-            return ResponseEntity.ok(analyticsService.getPlatformAnalytics());
+            return ResponseEntity.ok(platformAnalyticsSnapshot.current());
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -32,12 +33,17 @@ public class FavoriteController {
     }
 
     @GetMapping
-    public ResponseEntity<?> getUserFavorites(Authentication authentication) {
+    public ResponseEntity<?> getUserFavorites(
+            Authentication authentication,
+            @RequestParam(defaultValue = "full") String view) {
         User user = resolveAuthenticatedUser(authentication);
         if (user == null) {
             return unauthorized("User not authenticated");
         }
 
+        if ("summary".equalsIgnoreCase(view)) {
+            return ResponseEntity.ok(favoriteService.getFavoriteVendorSummaries(user));
+        }
         List<VendorResponse> favoriteVendors = favoriteService.getFavoriteVendors(user);
         return ResponseEntity.ok(favoriteVendors);
     }
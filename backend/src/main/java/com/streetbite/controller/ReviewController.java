@@ -6,6 +6,7 @@ import com.streetbite.dto.review.ReviewUpdateRequest;
 import com.streetbite.model.User;
 import com.streetbite.security.AuthenticatedUserService;
 import com.streetbite.service.ReviewService;
+import com.streetbite.service.ReviewSummaryStore;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -24,17 +26,50 @@ import java.util.Map;
 @RequestMapping("/api/reviews")
 public class ReviewController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 50;
+
     private final ReviewService reviewService;
+    private final ReviewSummaryStore reviewSummaryStore;
     private final AuthenticatedUserService authenticatedUserService;
 
-    public ReviewController(ReviewService reviewService, AuthenticatedUserService authenticatedUserService) {
+    public ReviewController(
+            ReviewService reviewService,
+            ReviewSummaryStore reviewSummaryStore,
+            AuthenticatedUserService authenticatedUserService) {
         this.reviewService = reviewService;
+        this.reviewSummaryStore = reviewSummaryStore;
         this.authenticatedUserService = authenticatedUserService;
     }
 
+    /**
+     * Without paging parameters every review is returned; with a cursor, size or sort
+     * (newest, highest, lowest) a single keyset page is returned along with the next cursor.
+     */
     @GetMapping("/vendor/{vendorId}")
-    public ResponseEntity<List<ReviewResponse>> getVendorReviews(@PathVariable Long vendorId) {
-        return ResponseEntity.ok(reviewService.getReviewsByVendor(vendorId));
+    public ResponseEntity<?> getVendorReviews(
+            @PathVariable Long vendorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort) {
+        if (cursor == null && size == null && sort == null) {
+            return ResponseEntity.ok(reviewService.getReviewsByVendor(vendorId));
+        }
+
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        try {
+            return ResponseEntity.ok(reviewService.getReviewPage(
+                    vendorId, ReviewService.ReviewSort.from(sort), cursor, pageSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/vendor/{vendorId}/summary")
+    public ResponseEntity<?> getVendorReviewSummary(@PathVariable Long vendorId) {
+        return reviewSummaryStore.getSummary(vendorId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404).body(Map.of("error", "Vendor not found")));
     }
 
     @GetMapping("/user/{userId}")
@@ -1,14 +1,19 @@
 package com.streetbite.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.streetbite.dto.vendor.VendorCreateRequest;
+import com.streetbite.dto.vendor.VendorPageResponse;
 import com.streetbite.dto.vendor.VendorResponse;
 import com.streetbite.dto.vendor.VendorStatusUpdateRequest;
+import com.streetbite.dto.vendor.VendorSummaryResponse;
 import com.streetbite.dto.vendor.VendorUpdateRequest;
 import com.streetbite.model.User;
 import com.streetbite.model.Vendor;
 import com.streetbite.model.VendorStatus;
 import com.streetbite.security.AuthenticatedUserService;
 import com.streetbite.service.VendorService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,28 +25,41 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/vendors")
 public class VendorController {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int STREAM_CHUNK_SIZE = 100;
+    private static final String VIEW_FULL = "full";
+    private static final String VIEW_SUMMARY = "summary";
+
     private final AuthenticatedUserService authenticatedUserService;
     private final VendorService vendorService;
     private final com.streetbite.service.VendorSearchService vendorSearchService;
+    private final ObjectMapper objectMapper;
 
     public VendorController(
             AuthenticatedUserService authenticatedUserService,
             VendorService vendorService,
-            com.streetbite.service.VendorSearchService vendorSearchService) {
+            com.streetbite.service.VendorSearchService vendorSearchService,
+            ObjectMapper objectMapper) {
         this.authenticatedUserService = authenticatedUserService;
         this.vendorService = vendorService;
         this.vendorSearchService = vendorSearchService;
+        this.objectMapper = objectMapper;
     }
 
     private boolean isValidUrl(String url) {
@@ -67,22 +85,44 @@ public class VendorController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<VendorResponse>> searchVendors(
+    public ResponseEntity<List<?>> searchVendors(
             @RequestParam double lat,
             @RequestParam double lng,
-            @RequestParam(defaultValue = "2000") double radius) {
-        return ResponseEntity.ok(vendorSearchService.searchNearby(lat, lng, radius).stream()
+            @RequestParam(defaultValue = "2000") double radius,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = VIEW_FULL) String view) {
+        // Without a limit every vendor in the radius is returned, as before
+        int maxResults = limit == null ? Integer.MAX_VALUE : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        if (isSummaryView(view)) {
+            return ResponseEntity.ok(vendorSearchService.searchNearbySummaries(lat, lng, radius, maxResults));
+        }
+        return ResponseEntity.ok(vendorSearchService.searchNearby(lat, lng, radius, maxResults).stream()
                 .map(VendorResponse::from)
                 .toList());
     }
 
+    /**
+     * Without paging parameters the full list is streamed in id order; with a cursor
+     * and/or size a single keyset page is returned along with the next cursor.
+     * view=summary returns card-sized vendors instead of full records.
+     */
     @GetMapping
-    public ResponseEntity<List<VendorResponse>> getAllVendors() {
-        return ResponseEntity.ok(vendorService.getActiveVendors().stream().map(VendorResponse::from).toList());
+    public ResponseEntity<?> getAllVendors(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = VIEW_FULL) String view) {
+        if (isSummaryView(view)) {
+            return listVendors(vendorService::getActiveVendorSummariesAfter,
+                    VendorSummaryResponse::getId, Function.identity(), cursor, size);
+        }
+        return listVendors(vendorService::getActiveVendorsAfter, VendorResponse::getId, Function.identity(), cursor, size);
     }
 
     @GetMapping("/admin/all")
-    public ResponseEntity<?> getAllVendorsForAdmin(Authentication authentication) {
+    public ResponseEntity<?> getAllVendorsForAdmin(
+            Authentication authentication,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
         User currentUser = resolveAuthenticatedUser(authentication);
         if (currentUser == null) {
             return unauthorized("Login required");
@@ -91,7 +131,7 @@ public class VendorController {
             return forbidden("Admin access only");
         }
 
-        return ResponseEntity.ok(vendorService.getAllVendors().stream().map(VendorResponse::from).toList());
+        return listVendors(vendorService::getAllVendorsAfter, VendorResponse::getId, Function.identity(), cursor, size);
     }
 
     @GetMapping("/{idOrSlug}")
@@ -231,6 +271,68 @@ public class VendorController {
         }
     }
 
+    private boolean isSummaryView(String view) {
+        return VIEW_SUMMARY.equalsIgnoreCase(view);
+    }
+
+    private <T, R> ResponseEntity<?> listVendors(
+            BiFunction<Long, Integer, List<T>> pageLoader,
+            Function<T, Long> idOf,
+            Function<T, R> toResponse,
+            Long cursor,
+            Integer size) {
+        if (cursor == null && size == null) {
+            return streamVendors(pageLoader, idOf, toResponse);
+        }
+        return ResponseEntity.ok(vendorPage(pageLoader, idOf, toResponse, cursor, size));
+    }
+
+    private <T, R> VendorPageResponse<R> vendorPage(
+            BiFunction<Long, Integer, List<T>> pageLoader,
+            Function<T, Long> idOf,
+            Function<T, R> toResponse,
+            Long cursor,
+            Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // One extra row tells whether another page follows
+        List<T> rows = pageLoader.apply(cursor, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<T> page = hasMore ? rows.subList(0, pageSize) : rows;
+        Long next = hasMore ? idOf.apply(page.get(page.size() - 1)) : null;
+
+        return VendorPageResponse.of(page.stream().map(toResponse).toList(), next);
+    }
+
+    /**
+     * Writes a JSON array chunk by chunk, so only one chunk of vendors is held at a time.
+     * Page loaders return DTOs and leave no entities in the request's persistence context.
+     */
+    private <T, R> ResponseEntity<StreamingResponseBody> streamVendors(
+            BiFunction<Long, Integer, List<T>> pageLoader,
+            Function<T, Long> idOf,
+            Function<T, R> toResponse) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                Long cursor = null;
+                List<T> chunk;
+                do {
+                    chunk = pageLoader.apply(cursor, STREAM_CHUNK_SIZE);
+                    for (T row : chunk) {
+                        generator.writeObject(toResponse.apply(row));
+                    }
+                    generator.flush();
+                    if (!chunk.isEmpty()) {
+                        cursor = idOf.apply(chunk.get(chunk.size() - 1));
+                    }
+                } while (chunk.size() == STREAM_CHUNK_SIZE);
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     private User resolveAuthenticatedUser(Authentication authentication) {
         return authenticatedUserService.findAuthenticatedUser(authentication).orElse(null);
     }
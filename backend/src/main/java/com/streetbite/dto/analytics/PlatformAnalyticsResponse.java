@@ -1,5 +1,6 @@
 package com.streetbite.dto.analytics;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public class PlatformAnalyticsResponse {
@@ -16,6 +17,7 @@ public class PlatformAnalyticsResponse {
     private List<PlatformMostReviewedVendorResponse> mostReviewedVendors;
     private List<PlatformEngagementTrendPointResponse> engagementTrends;
     private List<PlatformEngagementTrendPointResponse> recentActivity;
+    private LocalDateTime asOf;
 
     public Long getTotalUsers() {
         return totalUsers;
@@ -112,4 +114,12 @@ public class PlatformAnalyticsResponse {
     public void setRecentActivity(List<PlatformEngagementTrendPointResponse> recentActivity) {
         this.recentActivity = recentActivity;
     }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDateTime asOf) {
+        this.asOf = asOf;
+    }
 }
@@ -14,6 +14,7 @@ public class VendorAnalyticsResponse {
     private BigDecimal totalRevenue;
     private Long totalOrders;
     private Long activeCustomers;
+    private Long monthlyActiveCustomers;
     private Double averageRating;
     private Long totalReviews;
 
@@ -89,6 +90,14 @@ public class VendorAnalyticsResponse {
         this.activeCustomers = activeCustomers;
     }
 
+    public Long getMonthlyActiveCustomers() {
+        return monthlyActiveCustomers;
+    }
+
+    public void setMonthlyActiveCustomers(Long monthlyActiveCustomers) {
+        this.monthlyActiveCustomers = monthlyActiveCustomers;
+    }
+
     public Double getAverageRating() {
         return averageRating;
     }
@@ -8,6 +8,7 @@ public class RecommendRequest {
     private String spiceLevel; // "mild", "medium", "spicy", "fire"
     private String budget;     // "low", "medium", "high"
     private String cuisine;    // optional: "Indian", "Chinese", etc.
+    private Integer limit;     // optional: number of results, 5 by default
 
     public String getMood() { return mood; }
     public void setMood(String mood) { this.mood = mood; }
@@ -20,4 +21,7 @@ public class RecommendRequest {
 
     public String getCuisine() { return cuisine; }
     public void setCuisine(String cuisine) { this.cuisine = cuisine; }
+
+    public Integer getLimit() { return limit; }
+    public void setLimit(Integer limit) { this.limit = limit; }
 }
@@ -1,6 +1,7 @@
 package com.streetbite.dto.review;
 
 import com.streetbite.model.ReviewImage;
+import com.streetbite.repository.ReviewRepository;
 
 public class ReviewImageResponse {
     private Long id;
@@ -13,6 +14,13 @@ public class ReviewImageResponse {
         return response;
     }
 
+    public static ReviewImageResponse from(ReviewRepository.ReviewImageListing image) {
+        ReviewImageResponse response = new ReviewImageResponse();
+        response.setId(image.getId());
+        response.setImageUrl(image.getImageUrl());
+        return response;
+    }
+
     public Long getId() {
         return id;
     }
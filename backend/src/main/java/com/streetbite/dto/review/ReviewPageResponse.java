@@ -0,0 +1,46 @@
+package com.streetbite.dto.review;
+
+import java.util.List;
+
+/**
+ * One keyset page of a vendor's reviews. Pass next back as the cursor to get the following
+ * page with the same sort; it is null on the last page.
+ */
+public class ReviewPageResponse {
+
+    private List<ReviewResponse> items;
+    private String next;
+    private int size;
+
+    public static ReviewPageResponse of(List<ReviewResponse> items, String next) {
+        ReviewPageResponse response = new ReviewPageResponse();
+        response.setItems(items);
+        response.setNext(next);
+        response.setSize(items.size());
+        return response;
+    }
+
+    public List<ReviewResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ReviewResponse> items) {
+        this.items = items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
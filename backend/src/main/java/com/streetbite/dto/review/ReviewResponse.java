@@ -1,6 +1,7 @@
 package com.streetbite.dto.review;
 
 import com.streetbite.model.Review;
+import com.streetbite.repository.ReviewRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -28,6 +29,26 @@ public class ReviewResponse {
         return response;
     }
 
+    public static ReviewResponse from(
+            ReviewRepository.ReviewListing listing,
+            Long vendorId,
+            List<ReviewImageResponse> images) {
+        ReviewUserResponse user = new ReviewUserResponse();
+        user.setId(listing.getUserId());
+        user.setDisplayName(listing.getUserDisplayName());
+        user.setProfilePicture(listing.getUserProfilePicture());
+
+        ReviewResponse response = new ReviewResponse();
+        response.setId(listing.getId());
+        response.setVendorId(vendorId);
+        response.setRating(listing.getRating());
+        response.setComment(listing.getComment());
+        response.setCreatedAt(listing.getCreatedAt());
+        response.setUser(user);
+        response.setImages(images);
+        return response;
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,71 @@
+package com.streetbite.dto.review;
+
+import java.util.List;
+
+/**
+ * Star histogram and latest review ids of a vendor. histogram[0] counts 1-star reviews,
+ * histogram[4] counts 5-star reviews; recentReviewIds are newest first.
+ */
+public class ReviewSummaryResponse {
+
+    private Long vendorId;
+    private int reviewCount;
+    private double averageRating;
+    private int[] histogram;
+    private List<Long> recentReviewIds;
+
+    public static ReviewSummaryResponse of(
+            Long vendorId,
+            int reviewCount,
+            double averageRating,
+            int[] histogram,
+            List<Long> recentReviewIds) {
+        ReviewSummaryResponse response = new ReviewSummaryResponse();
+        response.setVendorId(vendorId);
+        response.setReviewCount(reviewCount);
+        response.setAverageRating(averageRating);
+        response.setHistogram(histogram);
+        response.setRecentReviewIds(recentReviewIds);
+        return response;
+    }
+
+    public Long getVendorId() {
+        return vendorId;
+    }
+
+    public void setVendorId(Long vendorId) {
+        this.vendorId = vendorId;
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(int reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public int[] getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(int[] histogram) {
+        this.histogram = histogram;
+    }
+
+    public List<Long> getRecentReviewIds() {
+        return recentReviewIds;
+    }
+
+    public void setRecentReviewIds(List<Long> recentReviewIds) {
+        this.recentReviewIds = recentReviewIds;
+    }
+}
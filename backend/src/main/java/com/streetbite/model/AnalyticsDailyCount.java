@@ -0,0 +1,72 @@
+package com.streetbite.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Number of analytics events of one type a vendor received on one day.
+ * Maintained by the ingestion pipeline alongside the raw analytics_events rows.
+ */
+@Entity
+@Table(name = "analytics_daily_counts", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "vendor_id", "event_type", "event_date" })
+})
+public class AnalyticsDailyCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "vendor_id", nullable = false)
+    private Long vendorId;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(name = "event_date", nullable = false)
+    private LocalDate eventDate;
+
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVendorId() {
+        return vendorId;
+    }
+
+    public void setVendorId(Long vendorId) {
+        this.vendorId = vendorId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public LocalDate getEventDate() {
+        return eventDate;
+    }
+
+    public void setEventDate(LocalDate eventDate) {
+        this.eventDate = eventDate;
+    }
+
+    public Long getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(Long eventCount) {
+        this.eventCount = eventCount;
+    }
+}
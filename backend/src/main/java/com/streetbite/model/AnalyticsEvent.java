@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "analytics_events")
+@Table(name = "analytics_events", indexes = {
+        @Index(name = "idx_analytics_events_vendor_type_time", columnList = "vendor_id, event_type, timestamp")
+})
 public class AnalyticsEvent {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,72 @@
+package com.streetbite.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Number of CLICK_MENU_ITEM events one menu item received on one day.
+ * Maintained by the ingestion pipeline alongside the raw analytics_events rows.
+ */
+@Entity
+@Table(name = "analytics_item_daily_counts", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "vendor_id", "item_id", "event_date" })
+})
+public class AnalyticsItemDailyCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "vendor_id", nullable = false)
+    private Long vendorId;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "event_date", nullable = false)
+    private LocalDate eventDate;
+
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVendorId() {
+        return vendorId;
+    }
+
+    public void setVendorId(Long vendorId) {
+        this.vendorId = vendorId;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public LocalDate getEventDate() {
+        return eventDate;
+    }
+
+    public void setEventDate(LocalDate eventDate) {
+        this.eventDate = eventDate;
+    }
+
+    public Long getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(Long eventCount) {
+        this.eventCount = eventCount;
+    }
+}
@@ -6,7 +6,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_reviews_vendor_created", columnList = "vendor_id, created_at, id"),
+        @Index(name = "idx_reviews_vendor_rating_created", columnList = "vendor_id, rating, created_at, id")
+})
 public class Review {
 
     @Id
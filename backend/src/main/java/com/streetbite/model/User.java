@@ -4,7 +4,12 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_leaderboard_xp", columnList = "role, is_active, xp"),
+        @Index(name = "idx_users_leaderboard_spice_xp", columnList = "role, is_active, spice_xp"),
+        @Index(name = "idx_users_leaderboard_sugar_xp", columnList = "role, is_active, sugar_xp"),
+        @Index(name = "idx_users_leaderboard_night_owl_xp", columnList = "role, is_active, night_owl_xp")
+})
 public class User {
 
     @Id
@@ -55,25 +60,27 @@ public class User {
     @Column(name = "zodiac_sign")
     private String zodiacSign;
 
-    @Column(name = "xp")
+    // Gamification columns are only changed by the atomic UPDATEs in UserRepository, so saving
+    // an edited profile cannot write back XP, level or streak read before a grant
+    @Column(name = "xp", updatable = false)
     private Integer xp = 0;
 
-    @Column(name = "spice_xp")
+    @Column(name = "spice_xp", updatable = false)
     private Integer spiceXp = 0;
 
-    @Column(name = "sugar_xp")
+    @Column(name = "sugar_xp", updatable = false)
     private Integer sugarXp = 0;
 
-    @Column(name = "night_owl_xp")
+    @Column(name = "night_owl_xp", updatable = false)
     private Integer nightOwlXp = 0;
 
-    @Column(name = "level")
+    @Column(name = "level", updatable = false)
     private Integer level = 1;
 
-    @Column(name = "streak")
+    @Column(name = "streak", updatable = false)
     private Integer streak = 0;
 
-    @Column(name = "last_check_in")
+    @Column(name = "last_check_in", updatable = false)
     private java.time.LocalDate lastCheckIn;
 
     @Column(name = "is_active")
@@ -6,7 +6,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "vendors")
+@Table(name = "vendors", indexes = {
+        @Index(name = "idx_vendors_geo_search", columnList = "is_active, status, latitude, longitude")
+})
 public class Vendor {
 
     @Id
@@ -29,9 +31,42 @@ public class Vendor {
     private String address;
     private Double latitude;
     private Double longitude;
+
+    // Review stats are only written by VendorStatsService through SQL updates, never by saving
+    // the entity, so a vendor edit cannot write back totals it read before a review committed
+    @Column(name = "rating", updatable = false)
     private Double rating;
+
+    @Column(name = "review_count", updatable = false)
     private Integer reviewCount = 0; // Total number of reviews
+
+    @Column(name = "average_rating", updatable = false)
     private Double averageRating = 0.0; // Average rating from reviews
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    private Long ratingSum = 0L;
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    @Column(name = "one_star_count", nullable = false, updatable = false)
+    private Integer oneStarCount = 0;
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    @Column(name = "two_star_count", nullable = false, updatable = false)
+    private Integer twoStarCount = 0;
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    @Column(name = "three_star_count", nullable = false, updatable = false)
+    private Integer threeStarCount = 0;
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    @Column(name = "four_star_count", nullable = false, updatable = false)
+    private Integer fourStarCount = 0;
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    @Column(name = "five_star_count", nullable = false, updatable = false)
+    private Integer fiveStarCount = 0;
+
     private String phone;
     private String hours;
 
@@ -64,6 +99,21 @@ public class Vendor {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Coordinates as last read from the database, so a move can evict the search cell it left
+    @Transient
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private Double storedLatitude;
+
+    @Transient
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private Double storedLongitude;
+
+    @PostLoad
+    protected void onLoad() {
+        storedLatitude = latitude;
+        storedLongitude = longitude;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -277,4 +327,60 @@ public class Vendor {
     public void setAverageRating(Double averageRating) {
         this.averageRating = averageRating;
     }
+
+    public Long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(Long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public Integer getOneStarCount() {
+        return oneStarCount;
+    }
+
+    public void setOneStarCount(Integer oneStarCount) {
+        this.oneStarCount = oneStarCount;
+    }
+
+    public Integer getTwoStarCount() {
+        return twoStarCount;
+    }
+
+    public void setTwoStarCount(Integer twoStarCount) {
+        this.twoStarCount = twoStarCount;
+    }
+
+    public Integer getThreeStarCount() {
+        return threeStarCount;
+    }
+
+    public void setThreeStarCount(Integer threeStarCount) {
+        this.threeStarCount = threeStarCount;
+    }
+
+    public Integer getFourStarCount() {
+        return fourStarCount;
+    }
+
+    public void setFourStarCount(Integer fourStarCount) {
+        this.fourStarCount = fourStarCount;
+    }
+
+    public Integer getFiveStarCount() {
+        return fiveStarCount;
+    }
+
+    public void setFiveStarCount(Integer fiveStarCount) {
+        this.fiveStarCount = fiveStarCount;
+    }
+
+    public Double getStoredLatitude() {
+        return storedLatitude;
+    }
+
+    public Double getStoredLongitude() {
+        return storedLongitude;
+    }
 }
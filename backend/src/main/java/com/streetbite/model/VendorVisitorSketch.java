@@ -0,0 +1,61 @@
+package com.streetbite.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * HyperLogLog sketch of the distinct users who interacted with a vendor on one day.
+ * Maintained by the ingestion pipeline; see {@link com.streetbite.util.HyperLogLog}.
+ */
+@Entity
+@Table(name = "vendor_visitor_sketches", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "vendor_id", "sketch_date" })
+})
+public class VendorVisitorSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "vendor_id", nullable = false)
+    private Long vendorId;
+
+    @Column(name = "sketch_date", nullable = false)
+    private LocalDate sketchDate;
+
+    @Column(name = "registers", nullable = false, length = 1536)
+    private byte[] registers;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVendorId() {
+        return vendorId;
+    }
+
+    public void setVendorId(Long vendorId) {
+        this.vendorId = vendorId;
+    }
+
+    public LocalDate getSketchDate() {
+        return sketchDate;
+    }
+
+    public void setSketchDate(LocalDate sketchDate) {
+        this.sketchDate = sketchDate;
+    }
+
+    public byte[] getRegisters() {
+        return registers;
+    }
+
+    public void setRegisters(byte[] registers) {
+        this.registers = registers;
+    }
+}
@@ -0,0 +1,14 @@
+package com.streetbite.repository;
+
+import com.streetbite.model.AnalyticsDailyCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AnalyticsDailyCountRepository extends JpaRepository<AnalyticsDailyCount, Long> {
+
+    List<AnalyticsDailyCount> findByVendorIdAndEventDateGreaterThanEqual(Long vendorId, LocalDate startDate);
+}
@@ -0,0 +1,19 @@
+package com.streetbite.repository;
+
+import com.streetbite.model.AnalyticsItemDailyCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AnalyticsItemDailyCountRepository extends JpaRepository<AnalyticsItemDailyCount, Long> {
+
+    @Query("SELECT r.itemId, SUM(r.eventCount) as count FROM AnalyticsItemDailyCount r WHERE r.vendorId = :vendorId AND r.eventDate >= :startDate GROUP BY r.itemId ORDER BY count DESC")
+    List<Object[]> getTopItems(@Param("vendorId") Long vendorId, @Param("startDate") LocalDate startDate,
+            Pageable pageable);
+}
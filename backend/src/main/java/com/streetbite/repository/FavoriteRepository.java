@@ -29,4 +29,9 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     // Get favorite vendors for a user (with vendor details)
     @Query("SELECT f.vendor FROM Favorite f WHERE f.user.id = :userId ORDER BY f.createdAt DESC")
     List<com.streetbite.model.Vendor> findFavoriteVendorsByUserId(@Param("userId") Long userId);
+
+    // Same list reduced to the card fields
+    @Query("SELECT " + VendorRepository.SUMMARY_FIELDS + " FROM Favorite f JOIN f.vendor v " +
+            "WHERE f.user.id = :userId ORDER BY f.createdAt DESC")
+    List<VendorRepository.VendorSummary> findFavoriteVendorSummariesByUserId(@Param("userId") Long userId);
 }
@@ -2,10 +2,60 @@ package com.streetbite.repository;
 
 import com.streetbite.model.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     List<MenuItem> findByVendorId(Long vendorId);
 
     List<MenuItem> findByVendorIdAndAvailableTrue(Long vendorId);
+
+    // Ids only, so the image migration loads one row's LONGTEXT column at a time
+    @Query("SELECT m.id FROM MenuItem m WHERE m.imageUrl LIKE 'data:image/%' ORDER BY m.id")
+    List<Long> findIdsWithInlineImages();
+
+    @Query("SELECT m.vendor.id FROM MenuItem m WHERE m.id = :id")
+    Optional<Long> findVendorIdById(@Param("id") Long id);
+
+    // Text and price of available items, without the image column
+    @Query("SELECT m.id AS id, m.vendor.id AS vendorId, m.name AS name, m.description AS description, " +
+            "m.category AS category, m.price AS price, m.updatedAt AS updatedAt " +
+            "FROM MenuItem m WHERE m.available = true ORDER BY m.id")
+    List<MenuItemFeatures> findAvailableItemFeatures();
+
+    @Query("SELECT m.id AS id, m.vendor.id AS vendorId, m.name AS name, m.description AS description, " +
+            "m.category AS category, m.price AS price, m.updatedAt AS updatedAt " +
+            "FROM MenuItem m WHERE m.available = true AND m.vendor.id = :vendorId ORDER BY m.id")
+    List<MenuItemFeatures> findAvailableItemFeaturesByVendorId(@Param("vendorId") Long vendorId);
+
+    @Query("SELECT m.id AS id, m.name AS name FROM MenuItem m WHERE m.id IN :ids")
+    List<MenuItemName> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface MenuItemName {
+        Long getId();
+
+        String getName();
+    }
+
+    interface MenuItemFeatures {
+        Long getId();
+
+        Long getVendorId();
+
+        String getName();
+
+        String getDescription();
+
+        String getCategory();
+
+        BigDecimal getPrice();
+
+        LocalDateTime getUpdatedAt();
+    }
 }
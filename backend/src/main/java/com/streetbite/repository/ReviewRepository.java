@@ -1,9 +1,14 @@
 package com.streetbite.repository;
 
 import com.streetbite.model.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findByVendorId(Long vendorId);
@@ -28,4 +33,129 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
             "GROUP BY r.vendor.name " +
             "ORDER BY reviewCount DESC")
     List<Object[]> findMostReviewedVendors();
+
+    // Review list rows with the author's display fields joined in, so no entity graph is loaded
+    String LISTING_FIELDS = "SELECT r.id AS id, r.rating AS rating, r.comment AS comment, r.createdAt AS createdAt, " +
+            "u.id AS userId, u.displayName AS userDisplayName, u.profilePicture AS userProfilePicture " +
+            "FROM Review r JOIN r.user u WHERE r.vendor.id = :vendorId ";
+
+    String NEWEST_ORDER = "ORDER BY r.createdAt DESC, r.id DESC";
+
+    String AFTER_CREATED = "(r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))";
+
+    // Keyset pages: callers pass the sort key of the last review they saw and a PageRequest of the page size
+    @Query(LISTING_FIELDS + NEWEST_ORDER)
+    List<ReviewListing> findNewestListings(@Param("vendorId") Long vendorId, Pageable pageable);
+
+    @Query(LISTING_FIELDS + "AND " + AFTER_CREATED + " " + NEWEST_ORDER)
+    List<ReviewListing> findNewestListingsAfter(
+            @Param("vendorId") Long vendorId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    // Legacy reviews without a rating sort as the lowest rating: MySQL and H2 order NULL first
+    // ascending and last descending, and the keyset predicates below follow the same order
+    @Query(LISTING_FIELDS + "ORDER BY r.rating DESC, r.createdAt DESC, r.id DESC")
+    List<ReviewListing> findHighestListings(@Param("vendorId") Long vendorId, Pageable pageable);
+
+    @Query(LISTING_FIELDS + "AND (r.rating < :rating OR r.rating IS NULL OR (r.rating = :rating AND " + AFTER_CREATED + ")) " +
+            "ORDER BY r.rating DESC, r.createdAt DESC, r.id DESC")
+    List<ReviewListing> findHighestListingsAfter(
+            @Param("vendorId") Long vendorId,
+            @Param("rating") Integer rating,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    // After an unrated review only older unrated reviews follow
+    @Query(LISTING_FIELDS + "AND r.rating IS NULL AND " + AFTER_CREATED + " " +
+            "ORDER BY r.rating DESC, r.createdAt DESC, r.id DESC")
+    List<ReviewListing> findHighestListingsAfterUnrated(
+            @Param("vendorId") Long vendorId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(LISTING_FIELDS + "ORDER BY r.rating ASC, r.createdAt DESC, r.id DESC")
+    List<ReviewListing> findLowestListings(@Param("vendorId") Long vendorId, Pageable pageable);
+
+    @Query(LISTING_FIELDS + "AND (r.rating > :rating OR (r.rating = :rating AND " + AFTER_CREATED + ")) " +
+            "ORDER BY r.rating ASC, r.createdAt DESC, r.id DESC")
+    List<ReviewListing> findLowestListingsAfter(
+            @Param("vendorId") Long vendorId,
+            @Param("rating") Integer rating,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    // After an unrated review come older unrated reviews, then every rated one
+    @Query(LISTING_FIELDS + "AND (r.rating IS NOT NULL OR " + AFTER_CREATED + ") " +
+            "ORDER BY r.rating ASC, r.createdAt DESC, r.id DESC")
+    List<ReviewListing> findLowestListingsAfterUnrated(
+            @Param("vendorId") Long vendorId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query("SELECT r.id FROM Review r WHERE r.vendor.id = :vendorId " + NEWEST_ORDER)
+    List<Long> findRecentIds(@Param("vendorId") Long vendorId, Pageable pageable);
+
+    @Query("SELECT i.review.id AS reviewId, i.id AS id, i.imageUrl AS imageUrl " +
+            "FROM ReviewImage i WHERE i.review.id IN :reviewIds ORDER BY i.id")
+    List<ReviewImageListing> findImageListingsByReviewIdIn(@Param("reviewIds") Collection<Long> reviewIds);
+
+    String RATING_AGGREGATE_FIELDS = "r.vendor.id AS vendorId, COUNT(r) AS reviewCount, " +
+            "SUM(r.rating) AS ratingSum, " +
+            "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END) AS oneStarCount, " +
+            "SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END) AS twoStarCount, " +
+            "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END) AS threeStarCount, " +
+            "SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END) AS fourStarCount, " +
+            "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END) AS fiveStarCount ";
+
+    @Query("SELECT " + RATING_AGGREGATE_FIELDS +
+            "FROM Review r WHERE r.vendor.id = :vendorId AND r.rating IS NOT NULL GROUP BY r.vendor.id")
+    Optional<VendorRatingAggregate> aggregateRatingsByVendorId(@Param("vendorId") Long vendorId);
+
+    interface VendorRatingAggregate {
+        Long getVendorId();
+
+        Long getReviewCount();
+
+        Long getRatingSum();
+
+        Long getOneStarCount();
+
+        Long getTwoStarCount();
+
+        Long getThreeStarCount();
+
+        Long getFourStarCount();
+
+        Long getFiveStarCount();
+    }
+
+    interface ReviewListing {
+        Long getId();
+
+        Integer getRating();
+
+        String getComment();
+
+        LocalDateTime getCreatedAt();
+
+        Long getUserId();
+
+        String getUserDisplayName();
+
+        String getUserProfilePicture();
+    }
+
+    interface ReviewImageListing {
+        Long getReviewId();
+
+        Long getId();
+
+        String getImageUrl();
+    }
 }
@@ -2,6 +2,10 @@ package com.streetbite.repository;
 
 import com.streetbite.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,13 +26,72 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findTop50ByRoleAndIsActiveTrueOrderBySugarXpDesc(User.Role role);
     List<User> findTop50ByRoleAndIsActiveTrueOrderByNightOwlXpDesc(User.Role role);
 
-    List<User> findAllByOrderByXpDesc();
+    // Leaderboard users ordered before the given XP and id (more XP, or equal XP and a lower id)
+    @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role AND u.isActive = true " +
+            "AND (u.xp > :xp OR (u.xp = :xp AND u.id < :userId))")
+    long countRankedAhead(@Param("role") User.Role role, @Param("xp") int xp, @Param("userId") Long userId);
 
-    List<User> findByCreatedAtAfter(java.time.LocalDateTime date);
+    // Level as computed by GamificationService.calculateLevel, from the XP after the grant
+    String LEVEL_AFTER_GRANT = "level = CASE WHEN COALESCE(xp, 0) + :xpDelta < 0 THEN 1 " +
+            "ELSE FLOOR((1 + SQRT(1 + 0.08 * (COALESCE(xp, 0) + :xpDelta))) / 2) END";
+
+    // XP grants are single UPDATEs, so concurrent grants never overwrite each other. MySQL applies
+    // SET assignments left to right with the new values, so xp is always assigned last.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE users SET " + LEVEL_AFTER_GRANT + ", " +
+            "spice_xp = COALESCE(spice_xp, 0) + :spiceDelta, " +
+            "sugar_xp = COALESCE(sugar_xp, 0) + :sugarDelta, " +
+            "night_owl_xp = COALESCE(night_owl_xp, 0) + :nightOwlDelta, " +
+            "updated_at = CURRENT_TIMESTAMP, " +
+            "xp = COALESCE(xp, 0) + :xpDelta " +
+            "WHERE id = :id", nativeQuery = true)
+    int applyXpGrant(@Param("id") Long id,
+                     @Param("xpDelta") int xpDelta,
+                     @Param("spiceDelta") int spiceDelta,
+                     @Param("sugarDelta") int sugarDelta,
+                     @Param("nightOwlDelta") int nightOwlDelta);
+
+    // Daily check-in: the streak grows after yesterday's check-in, is kept on a repeat today
+    // and restarts otherwise
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE users SET " + LEVEL_AFTER_GRANT + ", " +
+            "streak = CASE WHEN last_check_in = :yesterday THEN COALESCE(streak, 0) + 1 " +
+            "WHEN last_check_in = :today THEN streak ELSE 1 END, " +
+            "last_check_in = :today, " +
+            "updated_at = CURRENT_TIMESTAMP, " +
+            "xp = COALESCE(xp, 0) + :xpDelta " +
+            "WHERE id = :id", nativeQuery = true)
+    int applyDailyCheckIn(@Param("id") Long id,
+                          @Param("xpDelta") int xpDelta,
+                          @Param("today") java.time.LocalDate today,
+                          @Param("yesterday") java.time.LocalDate yesterday);
+
+    // Scores of every user shown on the leaderboards, for building the in-memory boards
+    @Query("SELECT u.id AS id, u.xp AS xp, u.spiceXp AS spiceXp, u.sugarXp AS sugarXp, u.nightOwlXp AS nightOwlXp " +
+            "FROM User u WHERE u.role = :role AND u.isActive = true")
+    List<LeaderboardScores> findLeaderboardScores(@Param("role") User.Role role);
 
     long countByCreatedAtAfter(java.time.LocalDateTime date);
 
     long countByRole(User.Role role);
 
     long countByRoleAndCreatedAtAfter(User.Role role, java.time.LocalDateTime date);
+
+    // New users per day as (date, count) rows
+    @Query("SELECT CAST(u.createdAt AS DATE), COUNT(u) FROM User u WHERE u.createdAt > :date GROUP BY CAST(u.createdAt AS DATE)")
+    List<Object[]> countCreatedAfterByDay(@Param("date") java.time.LocalDateTime date);
+
+    interface LeaderboardScores {
+        Long getId();
+
+        Integer getXp();
+
+        Integer getSpiceXp();
+
+        Integer getSugarXp();
+
+        Integer getNightOwlXp();
+    }
 }
@@ -2,19 +2,221 @@ package com.streetbite.repository;
 
 import com.streetbite.model.Vendor;
 import com.streetbite.model.VendorStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface VendorRepository extends JpaRepository<Vendor, Long> {
+
+    // Columns behind VendorSummary; select them from a Vendor aliased as v. The thumbnail is
+    // only sent when it is a URL: inline data: images stay in the database, so summary rows
+    // never carry the LONGTEXT payload
+    String SUMMARY_FIELDS = "v.id AS id, v.slug AS slug, v.name AS name, v.cuisine AS cuisine, " +
+            "v.latitude AS latitude, v.longitude AS longitude, v.averageRating AS averageRating, " +
+            "v.reviewCount AS reviewCount, " +
+            "CASE WHEN v.displayImageUrl LIKE 'data:%' THEN NULL ELSE v.displayImageUrl END AS displayImageUrl";
+
     List<Vendor> findByOwnerId(Long ownerId);
 
     List<Vendor> findByIsActiveTrue();
 
     List<Vendor> findByIsActiveTrueAndStatusNotIn(List<VendorStatus> excludedStatuses);
 
+    // Keyset pages: callers pass the last id they saw and a PageRequest of the page size
+    List<Vendor> findByIsActiveTrueAndStatusNotInAndIdGreaterThanOrderByIdAsc(
+            List<VendorStatus> excludedStatuses, Long afterId, Pageable pageable);
+
+    List<Vendor> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
     List<Vendor> findByCuisineContainingIgnoreCase(String cuisine);
 
     long countByCreatedAtAfter(java.time.LocalDateTime date);
 
     java.util.Optional<Vendor> findBySlug(String slug);
+
+    // Coordinates only, so nearby search never hydrates the LONGTEXT image columns
+    @Query("SELECT v.id AS id, v.status AS status, v.latitude AS latitude, v.longitude AS longitude " +
+            "FROM Vendor v " +
+            "WHERE v.isActive = true AND v.status IN :statuses " +
+            "AND v.latitude BETWEEN :minLat AND :maxLat " +
+            "AND v.longitude BETWEEN :minLng AND :maxLng")
+    List<VendorLocation> findLocationsWithinBounds(
+            @Param("statuses") Collection<VendorStatus> statuses,
+            @Param("minLat") double minLat,
+            @Param("maxLat") double maxLat,
+            @Param("minLng") double minLng,
+            @Param("maxLng") double maxLng);
+
+    @Query("SELECT v.id AS id, v.status AS status, v.latitude AS latitude, v.longitude AS longitude " +
+            "FROM Vendor v " +
+            "WHERE v.isActive = true AND v.status IN :statuses " +
+            "AND v.latitude IS NOT NULL AND v.longitude IS NOT NULL")
+    List<VendorLocation> findLocationsByStatusIn(@Param("statuses") Collection<VendorStatus> statuses);
+
+    // Ids only, so the image migration loads one row's LONGTEXT columns at a time
+    @Query("SELECT v.id FROM Vendor v " +
+            "WHERE v.bannerImageUrl LIKE 'data:image/%' OR v.displayImageUrl LIKE 'data:image/%' " +
+            "ORDER BY v.id")
+    List<Long> findIdsWithInlineImages();
+
+    @Query("SELECT " + SUMMARY_FIELDS + " FROM Vendor v " +
+            "WHERE v.isActive = true AND v.status NOT IN :excludedStatuses AND v.id > :afterId " +
+            "ORDER BY v.id ASC")
+    List<VendorSummary> findActiveSummariesAfter(
+            @Param("excludedStatuses") List<VendorStatus> excludedStatuses,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("SELECT " + SUMMARY_FIELDS + " FROM Vendor v " +
+            "WHERE v.id IN :ids AND v.isActive = true AND v.status IN :statuses")
+    List<VendorSummary> findSummariesByIdIn(
+            @Param("ids") Collection<Long> ids,
+            @Param("statuses") Collection<VendorStatus> statuses);
+
+    @Query("SELECT v.id AS id, v.name AS name, v.slug AS slug, v.cuisine AS cuisine, v.address AS address, " +
+            "v.averageRating AS averageRating, v.reviewCount AS reviewCount " +
+            "FROM Vendor v WHERE v.isActive = true AND v.status NOT IN :excludedStatuses")
+    List<VendorCard> findCardsByStatusNotIn(@Param("excludedStatuses") Collection<VendorStatus> excludedStatuses);
+
+    @Query("SELECT v.id AS id, v.name AS name, v.slug AS slug, v.cuisine AS cuisine, v.address AS address, " +
+            "v.averageRating AS averageRating, v.reviewCount AS reviewCount " +
+            "FROM Vendor v WHERE v.id = :id AND v.isActive = true AND v.status NOT IN :excludedStatuses")
+    java.util.Optional<VendorCard> findCardByIdAndStatusNotIn(
+            @Param("id") Long id,
+            @Param("excludedStatuses") Collection<VendorStatus> excludedStatuses);
+
+    // Display images of the few vendors actually returned, so callers never keep the LONGTEXT column around
+    @Query("SELECT v.id AS id, v.displayImageUrl AS displayImageUrl FROM Vendor v WHERE v.id IN :ids")
+    List<VendorImage> findDisplayImagesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Recommendation card fields; the display image is loaded separately by findDisplayImagesByIdIn
+    interface VendorCard {
+        Long getId();
+
+        String getName();
+
+        String getSlug();
+
+        String getCuisine();
+
+        String getAddress();
+
+        Double getAverageRating();
+
+        Integer getReviewCount();
+    }
+
+    interface VendorImage {
+        Long getId();
+
+        String getDisplayImageUrl();
+    }
+
+    // Adds or removes reviews in one atomic update; the row stays locked until commit
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Vendor v SET v.reviewCount = COALESCE(v.reviewCount, 0) + :countDelta, " +
+            "v.ratingSum = v.ratingSum + :sumDelta, " +
+            "v.oneStarCount = v.oneStarCount + :oneStarDelta, " +
+            "v.twoStarCount = v.twoStarCount + :twoStarDelta, " +
+            "v.threeStarCount = v.threeStarCount + :threeStarDelta, " +
+            "v.fourStarCount = v.fourStarCount + :fourStarDelta, " +
+            "v.fiveStarCount = v.fiveStarCount + :fiveStarDelta " +
+            "WHERE v.id = :vendorId")
+    int adjustRatingTotals(@Param("vendorId") Long vendorId,
+                           @Param("countDelta") int countDelta,
+                           @Param("sumDelta") long sumDelta,
+                           @Param("oneStarDelta") int oneStarDelta,
+                           @Param("twoStarDelta") int twoStarDelta,
+                           @Param("threeStarDelta") int threeStarDelta,
+                           @Param("fourStarDelta") int fourStarDelta,
+                           @Param("fiveStarDelta") int fiveStarDelta);
+
+    @Query("SELECT v.reviewCount AS reviewCount, v.ratingSum AS ratingSum FROM Vendor v WHERE v.id = :id")
+    Optional<RatingTotals> findRatingTotalsById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Vendor v SET v.rating = :rating, v.averageRating = :averageRating WHERE v.id = :vendorId")
+    int updateAverageRating(@Param("vendorId") Long vendorId,
+                            @Param("rating") Double rating,
+                            @Param("averageRating") Double averageRating);
+
+    @Query("SELECT v.reviewCount AS reviewCount, v.ratingSum AS ratingSum, " +
+            "v.oneStarCount AS oneStarCount, v.twoStarCount AS twoStarCount, v.threeStarCount AS threeStarCount, " +
+            "v.fourStarCount AS fourStarCount, v.fiveStarCount AS fiveStarCount FROM Vendor v WHERE v.id = :id")
+    Optional<RatingHistogram> findRatingHistogramById(@Param("id") Long id);
+
+    // Row lock taken before reconciling, so incremental updates wait until the new totals commit
+    @Query(value = "SELECT id FROM vendors WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockForRatingUpdate(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Vendor v SET v.reviewCount = :reviewCount, v.ratingSum = :ratingSum, " +
+            "v.oneStarCount = :oneStarCount, v.twoStarCount = :twoStarCount, v.threeStarCount = :threeStarCount, " +
+            "v.fourStarCount = :fourStarCount, v.fiveStarCount = :fiveStarCount, " +
+            "v.rating = :rating, v.averageRating = :averageRating " +
+            "WHERE v.id = :vendorId")
+    int overwriteRatingTotals(@Param("vendorId") Long vendorId,
+                              @Param("reviewCount") int reviewCount,
+                              @Param("ratingSum") long ratingSum,
+                              @Param("oneStarCount") int oneStarCount,
+                              @Param("twoStarCount") int twoStarCount,
+                              @Param("threeStarCount") int threeStarCount,
+                              @Param("fourStarCount") int fourStarCount,
+                              @Param("fiveStarCount") int fiveStarCount,
+                              @Param("rating") Double rating,
+                              @Param("averageRating") Double averageRating);
+
+    interface RatingTotals {
+        Integer getReviewCount();
+
+        Long getRatingSum();
+    }
+
+    interface RatingHistogram extends RatingTotals {
+        Integer getOneStarCount();
+
+        Integer getTwoStarCount();
+
+        Integer getThreeStarCount();
+
+        Integer getFourStarCount();
+
+        Integer getFiveStarCount();
+    }
+
+    interface VendorSummary {
+        Long getId();
+
+        String getSlug();
+
+        String getName();
+
+        String getCuisine();
+
+        Double getLatitude();
+
+        Double getLongitude();
+
+        Double getAverageRating();
+
+        Integer getReviewCount();
+
+        String getDisplayImageUrl();
+    }
+
+    interface VendorLocation {
+        Long getId();
+
+        VendorStatus getStatus();
+
+        Double getLatitude();
+
+        Double getLongitude();
+    }
 }
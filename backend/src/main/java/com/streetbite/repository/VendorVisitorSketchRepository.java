@@ -0,0 +1,14 @@
+package com.streetbite.repository;
+
+import com.streetbite.model.VendorVisitorSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface VendorVisitorSketchRepository extends JpaRepository<VendorVisitorSketch, Long> {
+
+    List<VendorVisitorSketch> findByVendorIdAndSketchDateBetween(Long vendorId, LocalDate startDate, LocalDate endDate);
+}
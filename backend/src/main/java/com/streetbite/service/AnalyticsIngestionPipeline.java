@@ -0,0 +1,164 @@
+package com.streetbite.service;
+
+import com.streetbite.util.MpscRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Write-behind ingestion for analytics events.
+ *
+ * Requests only enqueue into a bounded ring buffer; a scheduled writer drains it and
+ * inserts the events with JDBC batches, updating the daily rollups and visitor sketches
+ * in the same transaction. A full buffer rejects new events instead of blocking the request, and
+ * every accepted, dropped, written or failed event is counted.
+ */
+@Component
+public class AnalyticsIngestionPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsIngestionPipeline.class);
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO analytics_events (vendor_id, event_type, user_id, item_id, timestamp) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AnalyticsRollupWriter rollupWriter;
+    private final VisitorSketchStore visitorSketchStore;
+    private final MpscRingBuffer<PendingEvent> buffer;
+    private final int batchSize;
+
+    private final Counter acceptedEvents;
+    private final Counter droppedEvents;
+    private final Counter writtenEvents;
+    private final Counter failedEvents;
+
+    public AnalyticsIngestionPipeline(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            AnalyticsRollupWriter rollupWriter,
+            VisitorSketchStore visitorSketchStore,
+            MeterRegistry meterRegistry,
+            @Value("${streetbite.analytics.buffer-capacity:65536}") int bufferCapacity,
+            @Value("${streetbite.analytics.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.rollupWriter = rollupWriter;
+        this.visitorSketchStore = visitorSketchStore;
+        this.buffer = new MpscRingBuffer<>(bufferCapacity);
+        this.batchSize = Math.max(1, batchSize);
+
+        this.acceptedEvents = eventCounter(meterRegistry, "accepted");
+        this.droppedEvents = eventCounter(meterRegistry, "dropped");
+        this.writtenEvents = eventCounter(meterRegistry, "written");
+        this.failedEvents = eventCounter(meterRegistry, "failed");
+        Gauge.builder("streetbite.analytics.buffer.size", buffer, MpscRingBuffer::size)
+                .description("Analytics events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues an event for the next flush; false when the buffer is full and the event was dropped.
+     */
+    public boolean submit(Long vendorId, String eventType, Long userId, Long itemId) {
+        if (buffer.offer(new PendingEvent(vendorId, eventType, userId, itemId, LocalDateTime.now()))) {
+            acceptedEvents.increment();
+            return true;
+        }
+        droppedEvents.increment();
+        return false;
+    }
+
+    /**
+     * Writes everything buffered so far. Synchronized because the buffer allows only one
+     * consumer, and shutdown may flush while a scheduled run is still in progress.
+     */
+    @Scheduled(fixedDelayString = "${streetbite.analytics.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        while (buffer.drain(batch::add, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        logger.info("Analytics pipeline flushed on shutdown");
+    }
+
+    /**
+     * Writes pending events, then recomputes the rollups from the raw events while
+     * ingestion is held off by the flush lock.
+     */
+    public synchronized void rebuildRollups() {
+        flush();
+        transactionTemplate.executeWithoutResult(status -> rollupWriter.rebuild());
+    }
+
+    /**
+     * Rebuilds the rollups only when they are missing events recorded before they existed,
+     * and returns whether it did. Holds the flush lock, so no batch lands between the check
+     * and the rebuild.
+     */
+    public synchronized boolean rebuildRollupsIfMissing() {
+        flush();
+        if (!rollupWriter.isMissingRollups()) {
+            return false;
+        }
+        transactionTemplate.executeWithoutResult(status -> rollupWriter.rebuild());
+        return true;
+    }
+
+    public int pendingEvents() {
+        return buffer.size();
+    }
+
+    private void write(List<PendingEvent> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, batch, batch.size(), (statement, event) -> {
+                    statement.setLong(1, event.vendorId());
+                    statement.setString(2, event.eventType());
+                    statement.setObject(3, event.userId(), Types.BIGINT);
+                    statement.setObject(4, event.itemId(), Types.BIGINT);
+                    statement.setTimestamp(5, Timestamp.valueOf(event.timestamp()));
+                });
+                rollupWriter.record(batch);
+                visitorSketchStore.record(batch);
+            });
+            writtenEvents.increment(batch.size());
+        } catch (DataAccessException | TransactionException e) {
+            // Analytics are best effort; a failed batch is counted rather than retried
+            failedEvents.increment(batch.size());
+            logger.warn("Failed to write {} analytics events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("streetbite.analytics.events")
+                .description("Analytics events by ingestion outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    record PendingEvent(Long vendorId, String eventType, Long userId, Long itemId, LocalDateTime timestamp) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.streetbite.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps analytics_events partitioned by month on MySQL: partitions a table created after
+ * the V4 migration ran, adds partitions for the coming months by splitting p_future, and
+ * drops months older than the retention period, which removes them without row-by-row
+ * DELETEs. The daily rollups are not affected.
+ *
+ * Other databases (the H2 default) are left alone.
+ */
+@Component
+public class AnalyticsPartitionMaintenance {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsPartitionMaintenance.class);
+
+    private static final String TABLE = "analytics_events";
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String PARTITIONS_SQL =
+            "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM INFORMATION_SCHEMA.PARTITIONS "
+                    + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '" + TABLE + "' AND PARTITION_NAME IS NOT NULL "
+                    + "ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionMonths;
+    private final int monthsAhead;
+
+    public AnalyticsPartitionMaintenance(
+            JdbcTemplate jdbcTemplate,
+            @Value("${streetbite.analytics.retention-months:13}") int retentionMonths,
+            @Value("${streetbite.analytics.partition-months-ahead:2}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionMonths = retentionMonths;
+        this.monthsAhead = Math.max(1, monthsAhead);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            // The scheduled run tries again
+            logger.warn("Failed to maintain analytics partitions: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${streetbite.analytics.partition-maintenance-cron:0 15 3 * * *}")
+    public void maintain() {
+        if (!isMySql()) {
+            return;
+        }
+
+        List<Partition> partitions = loadPartitions();
+        if (partitions.isEmpty()) {
+            partitionTable();
+            partitions = loadPartitions();
+        }
+
+        addUpcomingPartitions(partitions);
+        dropExpiredPartitions(partitions);
+    }
+
+    /**
+     * Same layout as the V4 migration, for tables Hibernate created after it had run.
+     */
+    private void partitionTable() {
+        YearMonth month = YearMonth.now();
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, timestamp)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " PARTITION BY RANGE (TO_DAYS(timestamp)) ("
+                + "PARTITION p_history VALUES LESS THAN (TO_DAYS('" + month.atDay(1) + "')), "
+                + "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+        logger.info("Partitioned {} by month", TABLE);
+    }
+
+    private void addUpcomingPartitions(List<Partition> partitions) {
+        Set<String> existing = partitions.stream().map(Partition::name).collect(Collectors.toSet());
+        if (!existing.contains(FUTURE_PARTITION)) {
+            logger.warn("{} has no {} partition; cannot add upcoming months", TABLE, FUTURE_PARTITION);
+            return;
+        }
+
+        YearMonth month = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++, month = month.plusMonths(1)) {
+            String name = partitionName(month);
+            if (existing.contains(name)) {
+                continue;
+            }
+            // Split in ascending order so each new month is carved off the front of p_future
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO ("
+                    + "PARTITION " + name + " VALUES LESS THAN (TO_DAYS('" + month.plusMonths(1).atDay(1) + "')), "
+                    + "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+            logger.info("Added analytics partition {}", name);
+        }
+    }
+
+    private void dropExpiredPartitions(List<Partition> partitions) {
+        if (retentionMonths <= 0) {
+            return;
+        }
+
+        LocalDate cutoff = YearMonth.now().minusMonths(retentionMonths).atDay(1);
+        Long cutoffDays = jdbcTemplate.queryForObject("SELECT TO_DAYS(?)", Long.class, cutoff);
+        if (cutoffDays == null) {
+            return;
+        }
+
+        // A partition can go once everything it may hold is older than the cutoff
+        List<String> expired = new ArrayList<>();
+        for (Partition partition : partitions) {
+            if (partition.upperBound() != null && partition.upperBound() <= cutoffDays) {
+                expired.add(partition.name());
+            }
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + String.join(", ", expired));
+        logger.info("Dropped analytics partitions older than {}: {}", cutoff, expired);
+    }
+
+    private List<Partition> loadPartitions() {
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, rowNum) -> {
+            String description = rs.getString("PARTITION_DESCRIPTION");
+            Long upperBound = description == null || "MAXVALUE".equalsIgnoreCase(description)
+                    ? null
+                    : Long.parseLong(description.trim());
+            return new Partition(rs.getString("PARTITION_NAME"), upperBound);
+        });
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase().contains("mysql");
+    }
+
+    static String partitionName(YearMonth month) {
+        return "p" + month.format(PARTITION_MONTH);
+    }
+
+    // upperBound is the TO_DAYS value of VALUES LESS THAN, null for MAXVALUE
+    private record Partition(String name, Long upperBound) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.streetbite.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the analytics_daily_counts and analytics_item_daily_counts rollups in step with
+ * the raw events, so dashboards read one row per series and day instead of scanning events.
+ */
+@Component
+public class AnalyticsRollupWriter {
+
+    static final String MENU_ITEM_CLICK = "CLICK_MENU_ITEM";
+
+    private static final String UPSERT_DAILY_SQL =
+            "INSERT INTO analytics_daily_counts (vendor_id, event_type, event_date, event_count) VALUES (?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE event_count = event_count + VALUES(event_count)";
+
+    private static final String UPSERT_ITEM_DAILY_SQL =
+            "INSERT INTO analytics_item_daily_counts (vendor_id, item_id, event_date, event_count) VALUES (?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE event_count = event_count + VALUES(event_count)";
+
+    private static final String BACKFILL_DAILY_SQL =
+            "INSERT INTO analytics_daily_counts (vendor_id, event_type, event_date, event_count) "
+                    + "SELECT vendor_id, event_type, CAST(timestamp AS DATE), COUNT(*) FROM analytics_events "
+                    + "GROUP BY vendor_id, event_type, CAST(timestamp AS DATE)";
+
+    private static final String BACKFILL_ITEM_DAILY_SQL =
+            "INSERT INTO analytics_item_daily_counts (vendor_id, item_id, event_date, event_count) "
+                    + "SELECT vendor_id, item_id, CAST(timestamp AS DATE), COUNT(*) FROM analytics_events "
+                    + "WHERE event_type = '" + MENU_ITEM_CLICK + "' AND item_id IS NOT NULL "
+                    + "GROUP BY vendor_id, item_id, CAST(timestamp AS DATE)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AnalyticsRollupWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds a batch of just-written events to the rollups; one upsert per distinct
+     * (vendor, type, day) and (vendor, item, day) in the batch.
+     */
+    void record(List<AnalyticsIngestionPipeline.PendingEvent> events) {
+        Map<DailyKey, Long> daily = new HashMap<>();
+        Map<ItemDailyKey, Long> itemDaily = new HashMap<>();
+
+        for (AnalyticsIngestionPipeline.PendingEvent event : events) {
+            LocalDate day = event.timestamp().toLocalDate();
+            daily.merge(new DailyKey(event.vendorId(), event.eventType(), day), 1L, Long::sum);
+            if (MENU_ITEM_CLICK.equals(event.eventType()) && event.itemId() != null) {
+                itemDaily.merge(new ItemDailyKey(event.vendorId(), event.itemId(), day), 1L, Long::sum);
+            }
+        }
+
+        List<Map.Entry<DailyKey, Long>> dailyRows = new ArrayList<>(daily.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT_DAILY_SQL, dailyRows, dailyRows.size(), (statement, row) -> {
+            statement.setLong(1, row.getKey().vendorId());
+            statement.setString(2, row.getKey().eventType());
+            statement.setDate(3, Date.valueOf(row.getKey().day()));
+            statement.setLong(4, row.getValue());
+        });
+
+        if (!itemDaily.isEmpty()) {
+            List<Map.Entry<ItemDailyKey, Long>> itemRows = new ArrayList<>(itemDaily.entrySet());
+            jdbcTemplate.batchUpdate(UPSERT_ITEM_DAILY_SQL, itemRows, itemRows.size(), (statement, row) -> {
+                statement.setLong(1, row.getKey().vendorId());
+                statement.setLong(2, row.getKey().itemId());
+                statement.setDate(3, Date.valueOf(row.getKey().day()));
+                statement.setLong(4, row.getValue());
+            });
+        }
+    }
+
+    /**
+     * True when the daily rollup counts fewer events than analytics_events holds from its
+     * oldest remaining day on, i.e. events were recorded before the rollups existed. New
+     * batches add to both sides in one transaction, so they never hide missing history.
+     * Callers must keep ingestion paused so both counts see the same writes.
+     */
+    boolean isMissingRollups() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(timestamp) FROM analytics_events", Timestamp.class);
+        if (oldest == null) {
+            return false;
+        }
+        Long events = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM analytics_events", Long.class);
+        // Rollups outlive raw events dropped by retention, so only days still in analytics_events count
+        Long rolledUp = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(event_count), 0) FROM analytics_daily_counts WHERE event_date >= ?",
+                Long.class, Date.valueOf(oldest.toLocalDateTime().toLocalDate()));
+        return (rolledUp != null ? rolledUp : 0L) < (events != null ? events : 0L);
+    }
+
+    /**
+     * Recomputes both rollups from analytics_events. Callers must keep ingestion paused.
+     */
+    void rebuild() {
+        jdbcTemplate.update("DELETE FROM analytics_daily_counts");
+        jdbcTemplate.update("DELETE FROM analytics_item_daily_counts");
+        jdbcTemplate.update(BACKFILL_DAILY_SQL);
+        jdbcTemplate.update(BACKFILL_ITEM_DAILY_SQL);
+    }
+
+    private record DailyKey(Long vendorId, String eventType, LocalDate day) {
+    }
+
+    private record ItemDailyKey(Long vendorId, Long itemId, LocalDate day) {
+    }
+}
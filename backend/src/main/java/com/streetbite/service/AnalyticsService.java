@@ -6,17 +6,23 @@ import com.streetbite.dto.analytics.PlatformAnalyticsResponse;
 import com.streetbite.dto.analytics.PlatformEngagementTrendPointResponse;
 import com.streetbite.dto.analytics.PlatformMostReviewedVendorResponse;
 import com.streetbite.dto.analytics.VendorAnalyticsResponse;
-import com.streetbite.model.AnalyticsEvent;
+import com.streetbite.model.AnalyticsDailyCount;
+import com.streetbite.repository.AnalyticsDailyCountRepository;
+import com.streetbite.repository.AnalyticsItemDailyCountRepository;
 import com.streetbite.repository.AnalyticsRepository;
-import com.streetbite.repository.MenuItemRepository;
 import com.streetbite.repository.UserRepository;
 import com.streetbite.repository.VendorRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,76 +30,107 @@ import java.util.stream.Collectors;
 @Service
 public class AnalyticsService {
 
+    // The vendor dashboard covers today and the six days before it
+    private static final int DASHBOARD_DAYS = 7;
+
+    // Row order of the dashboard count matrix
+    private static final List<String> DASHBOARD_EVENT_TYPES =
+            List.of("VIEW_PROFILE", "CLICK_DIRECTION", "CLICK_CALL", "VIEW_MENU", "CLICK_MENU_ITEM");
+    private static final int VIEW_PROFILE = 0;
+    private static final int CLICK_DIRECTION = 1;
+    private static final int CLICK_CALL = 2;
+    private static final int VIEW_MENU = 3;
+    private static final int CLICK_MENU_ITEM = 4;
+
+    private static final String SOURCE_RAW = "raw";
+
+    private static final int TOP_ITEM_COUNT = 5;
+
+    private static final int MONTHLY_DAYS = 30;
+
     private final AnalyticsRepository analyticsRepository;
-    private final MenuItemRepository menuItemRepository;
     private final com.streetbite.repository.ReviewRepository reviewRepository;
     private final com.streetbite.repository.FavoriteRepository favoriteRepository;
     private final UserRepository userRepository;
     private final VendorRepository vendorRepository;
+    private final AnalyticsIngestionPipeline ingestionPipeline;
+    private final AnalyticsDailyCountRepository dailyCountRepository;
+    private final AnalyticsItemDailyCountRepository itemDailyCountRepository;
+    private final MenuItemNameResolver menuItemNameResolver;
+    private final VisitorSketchStore visitorSketchStore;
+    private final String dashboardSource;
 
     public AnalyticsService(
             AnalyticsRepository analyticsRepository,
-            MenuItemRepository menuItemRepository,
             com.streetbite.repository.ReviewRepository reviewRepository,
             com.streetbite.repository.FavoriteRepository favoriteRepository,
             UserRepository userRepository,
-            VendorRepository vendorRepository) {
+            VendorRepository vendorRepository,
+            AnalyticsIngestionPipeline ingestionPipeline,
+            AnalyticsDailyCountRepository dailyCountRepository,
+            AnalyticsItemDailyCountRepository itemDailyCountRepository,
+            MenuItemNameResolver menuItemNameResolver,
+            VisitorSketchStore visitorSketchStore,
+            @Value("${streetbite.analytics.dashboard-source:rollup}") String dashboardSource) {
         this.analyticsRepository = analyticsRepository;
-        this.menuItemRepository = menuItemRepository;
         this.reviewRepository = reviewRepository;
         this.favoriteRepository = favoriteRepository;
         this.userRepository = userRepository;
         this.vendorRepository = vendorRepository;
+        this.ingestionPipeline = ingestionPipeline;
+        this.dailyCountRepository = dailyCountRepository;
+        this.itemDailyCountRepository = itemDailyCountRepository;
+        this.menuItemNameResolver = menuItemNameResolver;
+        this.visitorSketchStore = visitorSketchStore;
+        this.dashboardSource = dashboardSource;
     }
 
-    public void logEvent(Long vendorId, String eventType, Long userId, Long itemId) {
-        AnalyticsEvent event = new AnalyticsEvent();
-        event.setVendorId(vendorId);
-        event.setEventType(eventType);
-        event.setUserId(userId);
-        event.setItemId(itemId);
-        analyticsRepository.save(event);
+    /**
+     * Queues the event for a batched write; false when the pipeline is full and the event was dropped.
+     */
+    public boolean logEvent(Long vendorId, String eventType, Long userId, Long itemId) {
+        if (vendorId == null || eventType == null || eventType.isBlank()) {
+            throw new IllegalArgumentException("vendorId and eventType are required");
+        }
+        return ingestionPipeline.submit(vendorId, eventType, userId, itemId);
     }
 
     public VendorAnalyticsResponse getVendorAnalytics(Long vendorId) {
-        LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
-
-        long profileViews = analyticsRepository.countEventsByVendorAndTypeSince(vendorId, "VIEW_PROFILE", sevenDaysAgo);
-        long directionClicks = analyticsRepository.countEventsByVendorAndTypeSince(vendorId, "CLICK_DIRECTION",
-                sevenDaysAgo);
-        long menuInteractions = analyticsRepository.countEventsByVendorAndTypeSince(vendorId, "VIEW_MENU", sevenDaysAgo)
-                +
-                analyticsRepository.countEventsByVendorAndTypeSince(vendorId, "CLICK_MENU_ITEM", sevenDaysAgo);
-        long callClicks = analyticsRepository.countEventsByVendorAndTypeSince(vendorId, "CLICK_CALL", sevenDaysAgo);
-
-        List<Map<String, Object>> dailyViews = analyticsRepository.getDailyEventCounts(vendorId, "VIEW_PROFILE",
-                sevenDaysAgo);
-        List<Map<String, Object>> dailyDirections = analyticsRepository.getDailyEventCounts(vendorId, "CLICK_DIRECTION",
-                sevenDaysAgo);
-        List<Map<String, Object>> dailyCalls = analyticsRepository.getDailyEventCounts(vendorId, "CLICK_CALL",
-                sevenDaysAgo);
-
-        List<AnalyticsEngagementPointResponse> engagementData = new ArrayList<>();
-        LocalDate current = LocalDate.now().minusDays(6);
         LocalDate end = LocalDate.now();
+        LocalDate start = end.minusDays(DASHBOARD_DAYS - 1);
+        boolean fromRaw = SOURCE_RAW.equalsIgnoreCase(dashboardSource);
 
-        while (!current.isAfter(end)) {
-            String dateStr = current.toString();
+        long[][] counts = fromRaw ? countRawEventsByDay(vendorId, start) : countRolledUpEventsByDay(vendorId, start);
+
+        // Totals cover the same calendar days as the series: today and the six days before it.
+        // Rollups only have whole days, so the window cannot be the last 7 * 24 hours.
+        long profileViews = sum(counts[VIEW_PROFILE]);
+        long directionClicks = sum(counts[CLICK_DIRECTION]);
+        long menuInteractions = sum(counts[VIEW_MENU]) + sum(counts[CLICK_MENU_ITEM]);
+        long callClicks = sum(counts[CLICK_CALL]);
+
+        List<AnalyticsEngagementPointResponse> engagementData = new ArrayList<>(DASHBOARD_DAYS);
+        for (int day = 0; day < DASHBOARD_DAYS; day++) {
+            LocalDate current = start.plusDays(day);
             AnalyticsEngagementPointResponse dayData = new AnalyticsEngagementPointResponse();
             dayData.setDate(current.getDayOfWeek().toString().substring(0, 3));
-            dayData.setFullDate(dateStr);
-            dayData.setViews(getCountForDate(dailyViews, dateStr));
-            dayData.setDirections(getCountForDate(dailyDirections, dateStr));
-            dayData.setCalls(getCountForDate(dailyCalls, dateStr));
+            dayData.setFullDate(current.toString());
+            dayData.setViews(counts[VIEW_PROFILE][day]);
+            dayData.setDirections(counts[CLICK_DIRECTION][day]);
+            dayData.setCalls(counts[CLICK_CALL][day]);
             engagementData.add(dayData);
-            current = current.plusDays(1);
         }
 
-        List<Object[]> topItemsRaw = analyticsRepository.getTopItems(vendorId, sevenDaysAgo);
-        List<AnalyticsTopItemResponse> topItems = topItemsRaw.stream().limit(5).map(row -> {
+        Pageable topItemsPage = PageRequest.of(0, TOP_ITEM_COUNT);
+        List<Object[]> topItemsRaw = fromRaw
+                ? analyticsRepository.getTopItems(vendorId, start.atStartOfDay(), topItemsPage)
+                : itemDailyCountRepository.getTopItems(vendorId, start, topItemsPage);
+        Map<Long, String> itemNames = menuItemNameResolver.resolveNames(
+                topItemsRaw.stream().map(row -> (Long) row[0]).toList());
+        List<AnalyticsTopItemResponse> topItems = topItemsRaw.stream().map(row -> {
             Long itemId = (Long) row[0];
             Long count = (Long) row[1];
-            String itemName = menuItemRepository.findById(itemId).map(item -> item.getName()).orElse("Unknown Item");
+            String itemName = itemNames.getOrDefault(itemId, "Unknown Item");
             return new AnalyticsTopItemResponse(itemName, count * 3, count);
         }).collect(Collectors.toList());
 
@@ -109,12 +146,65 @@ public class AnalyticsService {
         result.setTopItems(topItems);
         result.setTotalRevenue(java.math.BigDecimal.ZERO);
         result.setTotalOrders(0L);
-        result.setActiveCustomers(0L);
+        result.setActiveCustomers(visitorSketchStore.countUniqueVisitors(vendorId, start, end));
+        result.setMonthlyActiveCustomers(visitorSketchStore.countUniqueVisitors(
+                vendorId, end.minusDays(MONTHLY_DAYS - 1), end));
         result.setAverageRating(averageRating != null ? averageRating : 0.0);
         result.setTotalReviews(totalReviews != null ? totalReviews : 0L);
         return result;
     }
 
+    /**
+     * Dashboard counts as counts[event type][day offset from start], read from the daily rollups.
+     */
+    private long[][] countRolledUpEventsByDay(Long vendorId, LocalDate start) {
+        long[][] counts = new long[DASHBOARD_EVENT_TYPES.size()][DASHBOARD_DAYS];
+        for (AnalyticsDailyCount row : dailyCountRepository.findByVendorIdAndEventDateGreaterThanEqual(vendorId, start)) {
+            addCount(counts, start, row.getEventType(), row.getEventDate(), row.getEventCount());
+        }
+        return counts;
+    }
+
+    /**
+     * Same matrix as {@link #countRolledUpEventsByDay}, grouped from raw events in one query.
+     */
+    private long[][] countRawEventsByDay(Long vendorId, LocalDate start) {
+        long[][] counts = new long[DASHBOARD_EVENT_TYPES.size()][DASHBOARD_DAYS];
+        for (Object[] row : analyticsRepository.countEventsByTypeAndDay(vendorId, start.atStartOfDay())) {
+            addCount(counts, start, (String) row[0], toLocalDate(row[1]), (Long) row[2]);
+        }
+        return counts;
+    }
+
+    private static void addCount(long[][] counts, LocalDate start, String eventType, LocalDate date, Long count) {
+        int type = DASHBOARD_EVENT_TYPES.indexOf(eventType);
+        int day = (int) ChronoUnit.DAYS.between(start, date);
+        if (type >= 0 && day >= 0 && day < DASHBOARD_DAYS && count != null) {
+            counts[type][day] += count;
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate date) {
+            return date;
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return LocalDate.parse(value.toString());
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    /**
+     * Computes platform-wide stats; requests are served from {@link PlatformAnalyticsSnapshot}.
+     */
     public PlatformAnalyticsResponse getPlatformAnalytics() {
         PlatformAnalyticsResponse stats = new PlatformAnalyticsResponse();
 
@@ -143,19 +233,17 @@ public class AnalyticsService {
                 .toList();
         stats.setMostReviewedVendors(topReviewed);
 
-        List<com.streetbite.model.User> newUsers = userRepository.findByCreatedAtAfter(LocalDateTime.now().minusDays(30));
-        Map<String, Long> usersByDate = newUsers.stream()
-                .filter(u -> u.getCreatedAt() != null)
-                .collect(Collectors.groupingBy(
-                        u -> u.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE),
-                        Collectors.counting()));
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, Long> usersByDate = new HashMap<>();
+        for (Object[] row : userRepository.countCreatedAfterByDay(LocalDateTime.now().minusDays(30))) {
+            usersByDate.put(toLocalDate(row[0]), (Long) row[1]);
+        }
 
         List<PlatformEngagementTrendPointResponse> engagementTrends = new ArrayList<>();
-        LocalDate today = LocalDate.now();
         for (int i = 29; i >= 0; i--) {
             LocalDate date = today.minusDays(i);
             String dateKey = date.format(DateTimeFormatter.ISO_LOCAL_DATE);
-            long growth = usersByDate.getOrDefault(dateKey, 0L);
+            long growth = usersByDate.getOrDefault(date, 0L);
             engagementTrends.add(new PlatformEngagementTrendPointResponse(
                     dateKey,
                     growth * 2 + (growth > 0 ? 1 : 0),
@@ -165,14 +253,7 @@ public class AnalyticsService {
 
         stats.setEngagementTrends(engagementTrends);
         stats.setRecentActivity(engagementTrends);
+        stats.setAsOf(LocalDateTime.now());
         return stats;
     }
-
-    private long getCountForDate(List<Map<String, Object>> data, String dateStr) {
-        return data.stream()
-                .filter(d -> d.get("date").toString().equals(dateStr))
-                .map(d -> (Long) d.get("count"))
-                .findFirst()
-                .orElse(0L);
-    }
 }
@@ -2,6 +2,7 @@ package com.streetbite.service;
 
 import com.streetbite.dto.favorite.FavoriteStatusResponse;
 import com.streetbite.dto.vendor.VendorResponse;
+import com.streetbite.dto.vendor.VendorSummaryResponse;
 import com.streetbite.model.Favorite;
 import com.streetbite.model.User;
 import com.streetbite.model.Vendor;
@@ -29,6 +30,12 @@ public class FavoriteService {
                 .toList();
     }
 
+    public List<VendorSummaryResponse> getFavoriteVendorSummaries(User user) {
+        return favoriteRepository.findFavoriteVendorSummariesByUserId(user.getId()).stream()
+                .map(VendorSummaryResponse::from)
+                .toList();
+    }
+
     public FavoriteStatusResponse getFavoriteStatus(User user, Long vendorId) {
         boolean isFavorite = favoriteRepository.existsByUserIdAndVendorId(user.getId(), vendorId);
         return new FavoriteStatusResponse(isFavorite, null);
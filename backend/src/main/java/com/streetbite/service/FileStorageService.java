@@ -8,10 +8,15 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -25,6 +30,13 @@ public class FileStorageService {
             "image/gif"
     );
 
+    private static final Map<String, String> IMAGE_EXTENSIONS = Map.of(
+            "image/jpeg", ".jpg",
+            "image/png", ".png",
+            "image/webp", ".webp",
+            "image/gif", ".gif"
+    );
+
     private final Path fileStorageLocation;
 
     public FileStorageService() {
@@ -57,6 +69,43 @@ public class FileStorageService {
         return "/api/files/download/" + fileName;
     }
 
+    /**
+     * Stores image bytes under a name derived from their SHA-256, so identical images
+     * share one file and repeated stores are no-ops.
+     */
+    public String storeImageBytes(byte[] bytes, String contentType) {
+        String fileExtension = IMAGE_EXTENSIONS.get(contentType);
+        if (fileExtension == null) {
+            throw new IllegalArgumentException("Only image uploads are allowed");
+        }
+        if (bytes == null || bytes.length == 0) {
+            throw new IllegalArgumentException("File is required");
+        }
+
+        String fileName = sha256Hex(bytes) + fileExtension;
+        Path targetLocation = fileStorageLocation.resolve(fileName).normalize();
+        if (Files.exists(targetLocation)) {
+            return "/api/files/download/" + fileName;
+        }
+
+        try {
+            // Write beside the target and move into place so readers never see a partial file
+            Path tempFile = Files.createTempFile(fileStorageLocation, "upload-", ".tmp");
+            try {
+                Files.write(tempFile, bytes);
+                Files.move(tempFile, targetLocation, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException ex) {
+                // Another writer stored the same content first
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file: " + ex.getMessage(), ex);
+        }
+
+        return "/api/files/download/" + fileName;
+    }
+
     public Resource loadFileAsResource(String fileName) {
         try {
             Path filePath = fileStorageLocation.resolve(fileName).normalize();
@@ -87,6 +136,14 @@ public class FileStorageService {
         return fileStorageLocation.resolve(fileName).normalize();
     }
 
+    private static String sha256Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
     private void validateUpload(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File is required");
@@ -5,19 +5,36 @@ import com.streetbite.dto.gamification.LeaderboardUserResponse;
 import com.streetbite.dto.gamification.UserStatsResponse;
 import com.streetbite.model.User;
 import com.streetbite.repository.UserRepository;
+import com.streetbite.util.RankedBoard;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class GamificationService {
 
     private final UserRepository userRepository;
+    private final LeaderboardIndex leaderboardIndex;
+    private final XpGrantBuffer xpGrantBuffer;
+    private final CacheManager cacheManager;
 
-    public GamificationService(UserRepository userRepository) {
+    public GamificationService(
+            UserRepository userRepository,
+            LeaderboardIndex leaderboardIndex,
+            XpGrantBuffer xpGrantBuffer,
+            CacheManager cacheManager) {
         this.userRepository = userRepository;
+        this.leaderboardIndex = leaderboardIndex;
+        this.xpGrantBuffer = xpGrantBuffer;
+        this.cacheManager = cacheManager;
     }
 
     // XP rewards for different actions
@@ -26,34 +43,22 @@ public class GamificationService {
     private static final int XP_WIN_GAME = 100;
     private static final int XP_COMMUNITY_POST = 10;
 
-    public User awardXp(Long userId, String actionType) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    private static final int LEADERBOARD_SIZE = 50;
+    static final String RANK_CACHE = "userRanks";
 
+    public User awardXp(Long userId, String actionType) {
         int xpToAward = getXpForAction(actionType);
-        int currentXp = user.getXp() != null ? user.getXp() : 0;
-        user.setXp(currentXp + xpToAward);
-
-        int newLevel = calculateLevel(user.getXp());
-        user.setLevel(newLevel);
 
         if ("daily_login".equalsIgnoreCase(actionType)) {
+            // The streak depends on the stored check-in date, so check-ins are never buffered
             java.time.LocalDate today = java.time.LocalDate.now();
-            java.time.LocalDate lastCheckIn = user.getLastCheckIn();
-
-            if (lastCheckIn != null) {
-                if (lastCheckIn.plusDays(1).equals(today)) {
-                    user.setStreak((user.getStreak() != null ? user.getStreak() : 0) + 1);
-                } else if (!lastCheckIn.equals(today)) {
-                    user.setStreak(1);
-                }
-            } else {
-                user.setStreak(1);
+            if (userRepository.applyDailyCheckIn(userId, xpToAward, today, today.minusDays(1)) == 0) {
+                throw new RuntimeException("User not found");
             }
-            user.setLastCheckIn(today);
+            return afterGrant(userId);
         }
 
-        return userRepository.save(user);
+        return grant(userId, new XpGrantBuffer.Grant(xpToAward, 0, 0, 0));
     }
 
     private int getXpForAction(String actionType) {
@@ -73,7 +78,13 @@ public class GamificationService {
     }
 
     public List<LeaderboardUserResponse> getLeaderboard() {
-        return userRepository.findTop50ByRoleAndIsActiveTrueOrderByXpDesc(User.Role.USER).stream()
+        if (!leaderboardIndex.isReady()) {
+            return userRepository.findTop50ByRoleAndIsActiveTrueOrderByXpDesc(User.Role.USER).stream()
+                    .map(user -> LeaderboardUserResponse.from(user, calculateLevel(user.getXp() != null ? user.getXp() : 0)))
+                    .toList();
+        }
+
+        return loadRankedUsers(leaderboardIndex.top(LeaderboardIndex.Board.XP, LEADERBOARD_SIZE)).stream()
                 .map(user -> LeaderboardUserResponse.from(user, calculateLevel(user.getXp() != null ? user.getXp() : 0)))
                 .toList();
     }
@@ -81,51 +92,125 @@ public class GamificationService {
     public Map<String, List<LeaderboardUserResponse>> getNicheLeaderboards() {
         Map<String, List<LeaderboardUserResponse>> leaderboards = new HashMap<>();
         
-        leaderboards.put("spice", userRepository.findTop50ByRoleAndIsActiveTrueOrderBySpiceXpDesc(User.Role.USER).stream()
-                .filter(u -> u.getSpiceXp() > 0)
-                .map(user -> LeaderboardUserResponse.fromNiche(user, user.getSpiceXp()))
-                .toList());
+        leaderboards.put("spice", nicheLeaderboard(LeaderboardIndex.Board.SPICE, User::getSpiceXp,
+                () -> userRepository.findTop50ByRoleAndIsActiveTrueOrderBySpiceXpDesc(User.Role.USER)));
                 
-        leaderboards.put("sugar", userRepository.findTop50ByRoleAndIsActiveTrueOrderBySugarXpDesc(User.Role.USER).stream()
-                .filter(u -> u.getSugarXp() > 0)
-                .map(user -> LeaderboardUserResponse.fromNiche(user, user.getSugarXp()))
-                .toList());
+        leaderboards.put("sugar", nicheLeaderboard(LeaderboardIndex.Board.SUGAR, User::getSugarXp,
+                () -> userRepository.findTop50ByRoleAndIsActiveTrueOrderBySugarXpDesc(User.Role.USER)));
                 
-        leaderboards.put("night", userRepository.findTop50ByRoleAndIsActiveTrueOrderByNightOwlXpDesc(User.Role.USER).stream()
-                .filter(u -> u.getNightOwlXp() > 0)
-                .map(user -> LeaderboardUserResponse.fromNiche(user, user.getNightOwlXp()))
-                .toList());
+        leaderboards.put("night", nicheLeaderboard(LeaderboardIndex.Board.NIGHT, User::getNightOwlXp,
+                () -> userRepository.findTop50ByRoleAndIsActiveTrueOrderByNightOwlXpDesc(User.Role.USER)));
                 
         return leaderboards;
     }
 
-    public User awardNicheXp(Long userId, String niche, int amount) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    private List<LeaderboardUserResponse> nicheLeaderboard(
+            LeaderboardIndex.Board board,
+            Function<User, Integer> nicheXp,
+            Supplier<List<User>> databaseFallback) {
+        List<User> users = leaderboardIndex.isReady()
+                ? loadRankedUsers(leaderboardIndex.top(board, LEADERBOARD_SIZE))
+                : databaseFallback.get();
+        return users.stream()
+                .filter(u -> nicheXp.apply(u) != null && nicheXp.apply(u) > 0)
+                .map(user -> LeaderboardUserResponse.fromNiche(user, nicheXp.apply(user)))
+                .toList();
+    }
 
+    // Loads the ranked users by primary key and keeps the board order
+    private List<User> loadRankedUsers(List<RankedBoard.Entry> entries) {
+        Map<Long, User> usersById = userRepository.findAllById(entries.stream().map(RankedBoard.Entry::id).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return entries.stream()
+                .map(entry -> usersById.get(entry.id()))
+                .filter(Objects::nonNull)
+                .map(this::withPendingXp)
+                .toList();
+    }
+
+    public User awardNicheXp(Long userId, String niche, int amount) {
+        // Add to global XP too so they visually level up
+        XpGrantBuffer.Grant grant;
         if ("spice".equalsIgnoreCase(niche)) {
-            user.setSpiceXp(user.getSpiceXp() + amount);
+            grant = new XpGrantBuffer.Grant(amount, amount, 0, 0);
         } else if ("sugar".equalsIgnoreCase(niche)) {
-            user.setSugarXp(user.getSugarXp() + amount);
+            grant = new XpGrantBuffer.Grant(amount, 0, amount, 0);
         } else if ("night".equalsIgnoreCase(niche)) {
-            user.setNightOwlXp(user.getNightOwlXp() + amount);
+            grant = new XpGrantBuffer.Grant(amount, 0, 0, amount);
+        } else {
+            grant = new XpGrantBuffer.Grant(amount, 0, 0, 0);
         }
+        return grant(userId, grant);
+    }
 
-        // Add to global XP too so they visually level up
-        int currentXp = user.getXp() != null ? user.getXp() : 0;
-        user.setXp(currentXp + amount);
-        user.setLevel(calculateLevel(user.getXp()));
+    /**
+     * Adds global XP outside the gamification actions, e.g. for zodiac challenges.
+     */
+    public User grantXp(Long userId, int amount) {
+        return grant(userId, new XpGrantBuffer.Grant(amount, 0, 0, 0));
+    }
+
+    // Applies the grant with one atomic UPDATE, or queues it when the XP buffer is enabled
+    private User grant(Long userId, XpGrantBuffer.Grant grant) {
+        if (!xpGrantBuffer.isEnabled()) {
+            if (userRepository.applyXpGrant(userId, grant.xp(), grant.spiceXp(), grant.sugarXp(), grant.nightOwlXp()) == 0) {
+                throw new RuntimeException("User not found");
+            }
+            return afterGrant(userId);
+        }
+
+        User stored = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = withPendingXp(stored, xpGrantBuffer.add(userId, grant));
+        leaderboardIndex.update(user);
+        evictRank(userId);
+        return user;
+    }
+
+    private User afterGrant(Long userId) {
+        User user = withPendingXp(userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found")));
+        leaderboardIndex.update(user);
+        evictRank(userId);
+        return user;
+    }
+
+    // The stored user, or a copy with the buffered XP added while some is not written yet
+    private User withPendingXp(User stored) {
+        if (!xpGrantBuffer.isEnabled()) {
+            return stored;
+        }
+        XpGrantBuffer.Grant pending = xpGrantBuffer.pendingFor(stored.getId());
+        return pending.equals(XpGrantBuffer.Grant.NONE) ? stored : withPendingXp(stored, pending);
+    }
 
-        return userRepository.save(user);
+    // Detached copy of the stored user with the not yet written XP added, never saved
+    private User withPendingXp(User stored, XpGrantBuffer.Grant pending) {
+        User user = new User();
+        user.setId(stored.getId());
+        user.setEmail(stored.getEmail());
+        user.setDisplayName(stored.getDisplayName());
+        user.setProfilePicture(stored.getProfilePicture());
+        user.setRole(stored.getRole());
+        user.setActive(stored.getActive());
+        user.setStreak(stored.getStreak());
+        user.setLastCheckIn(stored.getLastCheckIn());
+        user.setXp((stored.getXp() != null ? stored.getXp() : 0) + pending.xp());
+        user.setSpiceXp((stored.getSpiceXp() != null ? stored.getSpiceXp() : 0) + pending.spiceXp());
+        user.setSugarXp((stored.getSugarXp() != null ? stored.getSugarXp() : 0) + pending.sugarXp());
+        user.setNightOwlXp((stored.getNightOwlXp() != null ? stored.getNightOwlXp() : 0) + pending.nightOwlXp());
+        user.setLevel(calculateLevel(user.getXp()));
+        return user;
     }
 
     public UserStatsResponse getUserStats(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = withPendingXp(userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found")));
 
         int xp = user.getXp() != null ? user.getXp() : 0;
         int level = calculateLevel(xp);
-        int rank = calculateUserRank(userId);
+        int rank = calculateUserRank(userId, xp);
 
         UserStatsResponse stats = new UserStatsResponse();
         stats.setXp(xp);
@@ -138,14 +223,30 @@ public class GamificationService {
         return stats;
     }
 
-    private int calculateUserRank(Long userId) {
-        List<User> allUsers = userRepository.findAllByOrderByXpDesc();
-        for (int i = 0; i < allUsers.size(); i++) {
-            if (allUsers.get(i).getId().equals(userId)) {
-                return i + 1;
-            }
+    private int calculateUserRank(Long userId, int xp) {
+        if (leaderboardIndex.isReady()) {
+            return leaderboardIndex.rankOf(userId, xp);
+        }
+
+        // Without the in-memory boards, count the users ahead over the (role, is_active, xp) index
+        Cache cache = cacheManager.getCache(RANK_CACHE);
+        Integer cached = cache != null ? cache.get(userId, Integer.class) : null;
+        if (cached != null) {
+            return cached;
+        }
+
+        int rank = (int) userRepository.countRankedAhead(User.Role.USER, xp, userId) + 1;
+        if (cache != null) {
+            cache.put(userId, rank);
+        }
+        return rank;
+    }
+
+    private void evictRank(Long userId) {
+        Cache cache = cacheManager.getCache(RANK_CACHE);
+        if (cache != null) {
+            cache.evict(userId);
         }
-        return allUsers.size();
     }
 
     public User getUserByEmail(String email) {
@@ -0,0 +1,73 @@
+package com.streetbite.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Turns inline data:image URIs into stored files so vendor and menu rows only keep
+ * a short download URL instead of megabytes of base64.
+ *
+ * Off by default: files go to the local uploads/ directory, which is lost on every deploy
+ * of hosts with an ephemeral disk. Only enable it when uploads/ is on persistent storage.
+ */
+@Service
+public class ImageExternalizationService {
+
+    private static final String DATA_IMAGE_PREFIX = "data:image/";
+    private static final String BASE64_MARKER = ";base64,";
+
+    private final FileStorageService fileStorageService;
+    private final boolean enabled;
+
+    public ImageExternalizationService(
+            FileStorageService fileStorageService,
+            @Value("${streetbite.images.externalize-inline:false}") boolean enabled) {
+        this.fileStorageService = fileStorageService;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static boolean isInlineImage(String url) {
+        return url != null && url.regionMatches(true, 0, DATA_IMAGE_PREFIX, 0, DATA_IMAGE_PREFIX.length());
+    }
+
+    /**
+     * Returns the stored file URL for a data:image URI and any other value unchanged.
+     */
+    public String externalize(String url) {
+        if (!enabled || !isInlineImage(url)) {
+            return url;
+        }
+
+        int markerIndex = url.indexOf(BASE64_MARKER);
+        if (markerIndex < 0) {
+            throw new IllegalArgumentException("Inline images must be base64 encoded");
+        }
+
+        // data:image/png;charset=utf-8;base64,... -> image/png
+        String mediaType = url.substring("data:".length(), markerIndex);
+        int parameterIndex = mediaType.indexOf(';');
+        String contentType = (parameterIndex >= 0 ? mediaType.substring(0, parameterIndex) : mediaType)
+                .trim()
+                .toLowerCase(Locale.ROOT);
+
+        byte[] bytes;
+        try {
+            bytes = Base64.getMimeDecoder().decode(url.substring(markerIndex + BASE64_MARKER.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid inline image data");
+        }
+        // The MIME decoder skips characters outside the alphabet, so junk decodes to nothing
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Invalid inline image data");
+        }
+
+        return fileStorageService.storeImageBytes(bytes, contentType);
+    }
+}
@@ -0,0 +1,157 @@
+package com.streetbite.service;
+
+import com.streetbite.model.User;
+import com.streetbite.repository.UserRepository;
+import com.streetbite.util.RankedBoard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory leaderboards of active USER accounts for global, spice, sugar and night-owl XP.
+ * Only built when streetbite.gamification.leaderboard-mode is "memory"; in "database" mode,
+ * e.g. with several instances behind a load balancer, it stays empty and not ready.
+ *
+ * XP awards update the boards directly; a full rebuild at startup and on a fixed delay picks
+ * up changes made elsewhere (bans, role changes, deleted users). Until the first rebuild
+ * completes {@link #isReady()} is false and callers fall back to the database.
+ */
+@Component
+public class LeaderboardIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardIndex.class);
+
+    public enum Board {
+        XP, SPICE, SUGAR, NIGHT
+    }
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+
+    private Map<Board, RankedBoard> boards = newBoards();
+    private boolean ready;
+    // Updates made while a rebuild is loading, replayed onto the rebuilt boards
+    private List<User> updatesDuringRebuild;
+
+    public LeaderboardIndex(
+            UserRepository userRepository,
+            @Value("${streetbite.gamification.leaderboard-mode:memory}") String mode) {
+        this.userRepository = userRepository;
+        this.enabled = "memory".equalsIgnoreCase(mode);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // The scheduled rebuild retries
+            logger.warn("Failed to build leaderboards: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${streetbite.gamification.leaderboard-rebuild-interval-ms:600000}",
+            fixedDelayString = "${streetbite.gamification.leaderboard-rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            updatesDuringRebuild = new ArrayList<>();
+        }
+
+        Map<Board, RankedBoard> rebuilt = newBoards();
+        try {
+            for (UserRepository.LeaderboardScores scores : userRepository.findLeaderboardScores(User.Role.USER)) {
+                long id = scores.getId();
+                rebuilt.get(Board.XP).put(id, orZero(scores.getXp()));
+                rebuilt.get(Board.SPICE).put(id, orZero(scores.getSpiceXp()));
+                rebuilt.get(Board.SUGAR).put(id, orZero(scores.getSugarXp()));
+                rebuilt.get(Board.NIGHT).put(id, orZero(scores.getNightOwlXp()));
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                updatesDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            for (User user : updatesDuringRebuild) {
+                apply(rebuilt, user);
+            }
+            updatesDuringRebuild = null;
+            boards = rebuilt;
+            ready = true;
+        }
+        logger.debug("Leaderboards rebuilt with {} users", rebuilt.get(Board.XP).size());
+    }
+
+    public synchronized boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Records the user's current XP, or takes the user off the boards when banned or not a USER.
+     */
+    public synchronized void update(User user) {
+        if (!enabled || user == null || user.getId() == null) {
+            return;
+        }
+        apply(boards, user);
+        if (updatesDuringRebuild != null) {
+            updatesDuringRebuild.add(user);
+        }
+    }
+
+    /**
+     * Up to limit entries of the board, highest score first.
+     */
+    public synchronized List<RankedBoard.Entry> top(Board board, int limit) {
+        return boards.get(board).top(limit);
+    }
+
+    /**
+     * 1-based global XP rank. Users who are not on the board are ranked after everyone on
+     * it with more XP.
+     */
+    public synchronized int rankOf(Long userId, int xp) {
+        RankedBoard board = boards.get(Board.XP);
+        int rank = board.rankOf(userId);
+        return rank > 0 ? rank : board.countAbove(xp) + 1;
+    }
+
+    private static void apply(Map<Board, RankedBoard> boards, User user) {
+        long id = user.getId();
+        if (user.getRole() != User.Role.USER || !Boolean.TRUE.equals(user.getActive())) {
+            boards.values().forEach(board -> board.remove(id));
+            return;
+        }
+        boards.get(Board.XP).put(id, orZero(user.getXp()));
+        boards.get(Board.SPICE).put(id, orZero(user.getSpiceXp()));
+        boards.get(Board.SUGAR).put(id, orZero(user.getSugarXp()));
+        boards.get(Board.NIGHT).put(id, orZero(user.getNightOwlXp()));
+    }
+
+    private static Map<Board, RankedBoard> newBoards() {
+        Map<Board, RankedBoard> boards = new EnumMap<>(Board.class);
+        for (Board board : Board.values()) {
+            boards.put(board, new RankedBoard());
+        }
+        return boards;
+    }
+
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
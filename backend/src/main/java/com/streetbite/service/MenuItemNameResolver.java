@@ -0,0 +1,80 @@
+package com.streetbite.service;
+
+import com.streetbite.repository.MenuItemRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Menu item names by id, cached in menuItemNames and loaded in one query for all misses.
+ * Entries are evicted when the item is saved or deleted.
+ */
+@Component
+public class MenuItemNameResolver {
+
+    static final String NAME_CACHE = "menuItemNames";
+
+    private final MenuItemRepository menuItemRepository;
+    private final CacheManager cacheManager;
+
+    public MenuItemNameResolver(MenuItemRepository menuItemRepository, CacheManager cacheManager) {
+        this.menuItemRepository = menuItemRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Names of the given items; ids of items that no longer exist are left out.
+     */
+    public Map<Long, String> resolveNames(Collection<Long> itemIds) {
+        Cache cache = cacheManager.getCache(NAME_CACHE);
+        Map<Long, String> names = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+
+        for (Long itemId : itemIds) {
+            String cached = cache != null ? cache.get(itemId, String.class) : null;
+            if (cached != null) {
+                names.put(itemId, cached);
+            } else if (itemId != null) {
+                misses.add(itemId);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (MenuItemRepository.MenuItemName item : menuItemRepository.findNamesByIdIn(misses)) {
+                if (item.getName() == null) {
+                    continue;
+                }
+                names.put(item.getId(), item.getName());
+                if (cache != null) {
+                    cache.put(item.getId(), item.getName());
+                }
+            }
+        }
+        return names;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleMenuItemSaved(RealtimeSyncEvents.MenuItemSavedEvent event) {
+        evict(event.itemId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleMenuItemDeleted(RealtimeSyncEvents.MenuItemDeletedEvent event) {
+        evict(event.itemId());
+    }
+
+    private void evict(Long itemId) {
+        Cache cache = cacheManager.getCache(NAME_CACHE);
+        if (cache != null && itemId != null) {
+            cache.evict(itemId);
+        }
+    }
+}
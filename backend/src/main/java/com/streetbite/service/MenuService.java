@@ -19,14 +19,17 @@ public class MenuService {
     private final MenuItemRepository menuItemRepository;
     private final VendorRepository vendorRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final ImageExternalizationService imageExternalizationService;
 
     public MenuService(
             MenuItemRepository menuItemRepository,
             VendorRepository vendorRepository,
-            ApplicationEventPublisher eventPublisher) {
+            ApplicationEventPublisher eventPublisher,
+            ImageExternalizationService imageExternalizationService) {
         this.menuItemRepository = menuItemRepository;
         this.vendorRepository = vendorRepository;
         this.eventPublisher = eventPublisher;
+        this.imageExternalizationService = imageExternalizationService;
     }
 
     @Transactional
@@ -70,7 +73,7 @@ public class MenuService {
         menuItem.setDescription(request.getDescription());
         menuItem.setPrice(request.getPrice());
         menuItem.setCategory(request.getCategory());
-        menuItem.setImageUrl(request.getImageUrl());
+        menuItem.setImageUrl(imageExternalizationService.externalize(request.getImageUrl()));
         menuItem.setAvailable(request.isAvailable());
         menuItem.setPreparationTime(request.getPreparationTime());
     }
@@ -89,7 +92,7 @@ public class MenuService {
             menuItem.setCategory(updates.getCategory());
         }
         if (updates.getImageUrl() != null) {
-            menuItem.setImageUrl(updates.getImageUrl());
+            menuItem.setImageUrl(imageExternalizationService.externalize(updates.getImageUrl()));
         }
         if (updates.getIsAvailable() != null) {
             menuItem.setAvailable(updates.getIsAvailable());
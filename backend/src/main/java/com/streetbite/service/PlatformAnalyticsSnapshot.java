@@ -0,0 +1,52 @@
+package com.streetbite.service;
+
+import com.streetbite.dto.analytics.PlatformAnalyticsResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Last computed platform analytics, rebuilt on a schedule so the admin dashboard is served
+ * from memory. The response's asOf tells how old the numbers are.
+ */
+@Component
+public class PlatformAnalyticsSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlatformAnalyticsSnapshot.class);
+
+    private final AnalyticsService analyticsService;
+
+    private volatile PlatformAnalyticsResponse current;
+
+    public PlatformAnalyticsSnapshot(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    /**
+     * The latest snapshot; only a request arriving before the first scheduled run computes it.
+     */
+    public PlatformAnalyticsResponse current() {
+        PlatformAnalyticsResponse snapshot = current;
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        synchronized (this) {
+            if (current == null) {
+                current = analyticsService.getPlatformAnalytics();
+            }
+            return current;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${streetbite.analytics.platform-snapshot-interval-ms:60000}")
+    public void refresh() {
+        try {
+            current = analyticsService.getPlatformAnalytics();
+        } catch (Exception e) {
+            // Keep serving the previous snapshot
+            logger.warn("Failed to refresh platform analytics snapshot: {}", e.getMessage());
+        }
+    }
+}
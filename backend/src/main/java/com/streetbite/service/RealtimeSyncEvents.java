@@ -14,9 +14,18 @@ public final class RealtimeSyncEvents {
     public static record MenuItemDeletedEvent(Long itemId) {
     }
 
-    public static record VendorUpdatedEvent(Long vendorId, VendorStatus status, Double latitude, Double longitude, String address) {
+    // previousLatitude and previousLongitude are the stored coordinates before the change, null for a new vendor
+    public static record VendorUpdatedEvent(Long vendorId, VendorStatus status, Double latitude, Double longitude, String address,
+                                            Double previousLatitude, Double previousLongitude) {
     }
 
     public static record VendorDeletedEvent(Long vendorId) {
     }
+
+    public static record VendorStatsUpdatedEvent(Long vendorId, Integer reviewCount, Double averageRating) {
+    }
+
+    // A review of the vendor was created, re-rated or deleted
+    public static record ReviewChangedEvent(Long vendorId) {
+    }
 }
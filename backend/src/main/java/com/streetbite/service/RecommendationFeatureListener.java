@@ -0,0 +1,71 @@
+package com.streetbite.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps {@link RecommendationFeatureStore} in step with committed menu, vendor and rating changes,
+ * and drops the cached rankings built from the previous features.
+ */
+@Component
+public class RecommendationFeatureListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationFeatureListener.class);
+
+    private final RecommendationFeatureStore featureStore;
+    private final RecommendationService recommendationService;
+
+    public RecommendationFeatureListener(RecommendationFeatureStore featureStore,
+                                         RecommendationService recommendationService) {
+        this.featureStore = featureStore;
+        this.recommendationService = recommendationService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildFeatures() {
+        try {
+            featureStore.rebuild();
+            recommendationService.evictRankings();
+            logger.info("Recommendation features built for {} vendors", featureStore.size());
+        } catch (Exception e) {
+            // The first recommendation request retries the load
+            logger.warn("Failed to build recommendation features: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleMenuItemSaved(RealtimeSyncEvents.MenuItemSavedEvent event) {
+        featureStore.refreshVendorOfItem(event.itemId());
+        recommendationService.evictRankings();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleMenuItemDeleted(RealtimeSyncEvents.MenuItemDeletedEvent event) {
+        featureStore.removeItem(event.itemId());
+        recommendationService.evictRankings();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleVendorUpdated(RealtimeSyncEvents.VendorUpdatedEvent event) {
+        featureStore.refreshVendor(event.vendorId());
+        recommendationService.evictRankings();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleVendorDeleted(RealtimeSyncEvents.VendorDeletedEvent event) {
+        featureStore.removeVendor(event.vendorId());
+        recommendationService.evictRankings();
+    }
+
+    // Published inside the stats transactions, including each chunk of the bulk recomputation
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleVendorStatsUpdated(RealtimeSyncEvents.VendorStatsUpdatedEvent event) {
+        featureStore.refreshVendor(event.vendorId());
+        recommendationService.evictRankings();
+    }
+}
@@ -0,0 +1,303 @@
+package com.streetbite.service;
+
+import com.streetbite.dto.recommend.RecommendResponse;
+import com.streetbite.model.VendorStatus;
+import com.streetbite.repository.MenuItemRepository;
+import com.streetbite.repository.VendorRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed per-vendor inputs of the recommendation score: keyword category counts,
+ * budget range counts, cuisine and rating, plus the card fields of the response. Display
+ * images can be multi-megabyte data URIs, so they are not kept here; see
+ * {@link #displayImageUrls(Collection)}.
+ *
+ * Entries are refreshed per vendor when menus, vendors or ratings change. Requests read
+ * an immutable {@link Snapshot} of flat arrays that is rebuilt only after a change.
+ */
+@Component
+public class RecommendationFeatureStore {
+
+    // Vendors that are never recommended
+    static final List<VendorStatus> EXCLUDED_STATUSES =
+            List.of(VendorStatus.REJECTED, VendorStatus.BANNED, VendorStatus.SUSPENDED, VendorStatus.PENDING);
+
+    private static final int TOP_DISH_COUNT = 3;
+
+    private final VendorRepository vendorRepository;
+    private final MenuItemRepository menuItemRepository;
+
+    // Guarded by this
+    private final Map<Long, VendorFeatures> featuresByVendor = new HashMap<>();
+    private final Map<Long, Long> vendorByItem = new HashMap<>();
+    // Keyword masks of known items, reused while the item's updatedAt is unchanged
+    private final Map<Long, ItemMask> masksByItem = new HashMap<>();
+    private boolean loaded;
+
+    private volatile Snapshot snapshot;
+
+    public RecommendationFeatureStore(VendorRepository vendorRepository, MenuItemRepository menuItemRepository) {
+        this.vendorRepository = vendorRepository;
+        this.menuItemRepository = menuItemRepository;
+    }
+
+    /**
+     * The current features; the first call loads the store if startup did not.
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (!loaded) {
+                rebuild();
+            }
+            if (snapshot == null) {
+                snapshot = Snapshot.of(featuresByVendor.values());
+            }
+            return snapshot;
+        }
+    }
+
+    public synchronized void rebuild() {
+        List<VendorRepository.VendorCard> cards = vendorRepository.findCardsByStatusNotIn(EXCLUDED_STATUSES);
+        Map<Long, List<MenuItemRepository.MenuItemFeatures>> itemsByVendor = new HashMap<>();
+        for (MenuItemRepository.MenuItemFeatures item : menuItemRepository.findAvailableItemFeatures()) {
+            itemsByVendor.computeIfAbsent(item.getVendorId(), id -> new ArrayList<>()).add(item);
+        }
+
+        featuresByVendor.clear();
+        vendorByItem.clear();
+        for (VendorRepository.VendorCard card : cards) {
+            put(card, itemsByVendor.getOrDefault(card.getId(), List.of()));
+        }
+        masksByItem.keySet().retainAll(vendorByItem.keySet());
+        loaded = true;
+        snapshot = null;
+    }
+
+    public synchronized int size() {
+        return featuresByVendor.size();
+    }
+
+    /**
+     * Reloads one vendor's card and available items.
+     */
+    public synchronized void refreshVendor(Long vendorId) {
+        if (!loaded || vendorId == null) {
+            return;
+        }
+
+        VendorFeatures previous = removeEntries(vendorId);
+        vendorRepository.findCardByIdAndStatusNotIn(vendorId, EXCLUDED_STATUSES)
+                .ifPresent(card -> put(card, menuItemRepository.findAvailableItemFeaturesByVendorId(vendorId)));
+        forgetMasksOfRemovedItems(previous);
+        snapshot = null;
+    }
+
+    public synchronized void refreshVendorOfItem(Long itemId) {
+        if (!loaded || itemId == null) {
+            return;
+        }
+
+        Long vendorId = vendorByItem.get(itemId);
+        if (vendorId == null) {
+            vendorId = menuItemRepository.findVendorIdById(itemId).orElse(null);
+        }
+        refreshVendor(vendorId);
+    }
+
+    public synchronized void removeItem(Long itemId) {
+        // Items the store does not know were unavailable and never counted
+        Long vendorId = vendorByItem.get(itemId);
+        if (vendorId != null) {
+            refreshVendor(vendorId);
+        }
+    }
+
+    public synchronized void removeVendor(Long vendorId) {
+        VendorFeatures removed = removeEntries(vendorId);
+        if (removed != null) {
+            forgetMasksOfRemovedItems(removed);
+            snapshot = null;
+        }
+    }
+
+    private VendorFeatures removeEntries(Long vendorId) {
+        VendorFeatures removed = featuresByVendor.remove(vendorId);
+        if (removed != null) {
+            for (long itemId : removed.itemIds()) {
+                vendorByItem.remove(itemId);
+            }
+        }
+        return removed;
+    }
+
+    private void forgetMasksOfRemovedItems(VendorFeatures previous) {
+        if (previous == null) {
+            return;
+        }
+        for (long itemId : previous.itemIds()) {
+            if (!vendorByItem.containsKey(itemId)) {
+                masksByItem.remove(itemId);
+            }
+        }
+    }
+
+    /**
+     * Display image URLs of the given vendors by id, read with one query.
+     */
+    public Map<Long, String> displayImageUrls(Collection<Long> vendorIds) {
+        if (vendorIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, String> urls = new HashMap<>();
+        for (VendorRepository.VendorImage image : vendorRepository.findDisplayImagesByIdIn(vendorIds)) {
+            urls.put(image.getId(), image.getDisplayImageUrl());
+        }
+        return urls;
+    }
+
+    private int keywordMask(MenuItemRepository.MenuItemFeatures item) {
+        ItemMask cached = masksByItem.get(item.getId());
+        if (cached != null && item.getUpdatedAt() != null && item.getUpdatedAt().equals(cached.version())) {
+            return cached.mask();
+        }
+
+        int mask = RecommendationService.keywordMask(item.getName(), item.getDescription(), item.getCategory());
+        masksByItem.put(item.getId(), new ItemMask(item.getUpdatedAt(), mask));
+        return mask;
+    }
+
+    private void put(VendorRepository.VendorCard card, List<MenuItemRepository.MenuItemFeatures> items) {
+        // Vendors without available items are never recommended
+        if (items.isEmpty()) {
+            return;
+        }
+
+        long[] itemIds = new long[items.size()];
+        int[] keywordCounts = new int[RecommendationService.CATEGORY_COUNT];
+        int[] budgetCounts = new int[RecommendationService.BUDGET_COUNT];
+        List<RecommendResponse.RecommendedDish> topDishes = new ArrayList<>(TOP_DISH_COUNT);
+
+        for (int i = 0; i < items.size(); i++) {
+            MenuItemRepository.MenuItemFeatures item = items.get(i);
+            itemIds[i] = item.getId();
+
+            int mask = keywordMask(item);
+            for (int category = 0; category < keywordCounts.length; category++) {
+                if ((mask & (1 << category)) != 0) {
+                    keywordCounts[category]++;
+                }
+            }
+
+            if (item.getPrice() != null) {
+                for (int budget = 0; budget < budgetCounts.length; budget++) {
+                    if (RecommendationService.isInBudget(budget, item.getPrice())) {
+                        budgetCounts[budget]++;
+                    }
+                }
+            }
+
+            if (topDishes.size() < TOP_DISH_COUNT) {
+                topDishes.add(new RecommendResponse.RecommendedDish(item.getName(), item.getPrice(), item.getCategory()));
+            }
+        }
+
+        VendorFeatures features = new VendorFeatures(
+                card.getId(),
+                card.getName(),
+                card.getSlug(),
+                card.getCuisine(),
+                card.getAddress(),
+                card.getAverageRating() != null ? card.getAverageRating() : 0.0,
+                card.getReviewCount() != null ? card.getReviewCount() : 0,
+                itemIds,
+                keywordCounts,
+                budgetCounts,
+                List.copyOf(topDishes));
+        featuresByVendor.put(card.getId(), features);
+        for (long itemId : itemIds) {
+            vendorByItem.put(itemId, card.getId());
+        }
+    }
+
+    record VendorFeatures(
+            long vendorId,
+            String name,
+            String slug,
+            String cuisine,
+            String address,
+            double averageRating,
+            int reviewCount,
+            long[] itemIds,
+            int[] keywordCounts,
+            int[] budgetCounts,
+            List<RecommendResponse.RecommendedDish> topDishes) {
+    }
+
+    private record ItemMask(LocalDateTime version, int mask) {
+    }
+
+    /**
+     * Column-wise copy of every vendor's features, indexed by position in {@link #vendors}.
+     */
+    static final class Snapshot {
+        final VendorFeatures[] vendors;
+        // Distinct lowercased cuisines; cuisineIds point into it so a request matches each cuisine once
+        final String[] cuisines;
+        final int[] cuisineIds;
+        // CATEGORY_COUNT and BUDGET_COUNT entries per vendor
+        final int[] keywordCounts;
+        final int[] budgetCounts;
+        final double[] ratings;
+        final int[] reviewCounts;
+
+        private Snapshot(VendorFeatures[] vendors) {
+            int size = vendors.length;
+            this.vendors = vendors;
+            this.cuisineIds = new int[size];
+            this.keywordCounts = new int[size * RecommendationService.CATEGORY_COUNT];
+            this.budgetCounts = new int[size * RecommendationService.BUDGET_COUNT];
+            this.ratings = new double[size];
+            this.reviewCounts = new int[size];
+
+            Map<String, Integer> cuisineIndex = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                VendorFeatures vendor = vendors[i];
+                String cuisine = vendor.cuisine() != null ? vendor.cuisine().toLowerCase() : "";
+                cuisineIds[i] = cuisineIndex.computeIfAbsent(cuisine, key -> cuisineIndex.size());
+                System.arraycopy(vendor.keywordCounts(), 0, keywordCounts,
+                        i * RecommendationService.CATEGORY_COUNT, RecommendationService.CATEGORY_COUNT);
+                System.arraycopy(vendor.budgetCounts(), 0, budgetCounts,
+                        i * RecommendationService.BUDGET_COUNT, RecommendationService.BUDGET_COUNT);
+                ratings[i] = vendor.averageRating();
+                reviewCounts[i] = vendor.reviewCount();
+            }
+
+            this.cuisines = new String[cuisineIndex.size()];
+            cuisineIndex.forEach((cuisine, id) -> cuisines[id] = cuisine);
+        }
+
+        static Snapshot of(Collection<VendorFeatures> features) {
+            VendorFeatures[] vendors = features.stream()
+                    .sorted(Comparator.comparingLong(VendorFeatures::vendorId))
+                    .toArray(VendorFeatures[]::new);
+            return new Snapshot(vendors);
+        }
+
+        int size() {
+            return vendors.length;
+        }
+    }
+}
@@ -2,22 +2,42 @@ package com.streetbite.service;
 
 import com.streetbite.dto.recommend.RecommendRequest;
 import com.streetbite.dto.recommend.RecommendResponse;
-import com.streetbite.model.MenuItem;
-import com.streetbite.model.Vendor;
-import com.streetbite.model.VendorStatus;
-import com.streetbite.repository.MenuItemRepository;
-import com.streetbite.repository.VendorRepository;
+import com.streetbite.util.KeywordMatcher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 public class RecommendationService {
 
-    private final VendorRepository vendorRepository;
-    private final MenuItemRepository menuItemRepository;
+    static final int DEFAULT_LIMIT = 5;
+    static final int MAX_LIMIT = 20;
+
+    static final String RECOMMENDATION_CACHE = "recommendations";
+    // Cached rankings keep more than MAX_LIMIT so ties past the cut can still be shuffled in
+    private static final int CACHED_CANDIDATES = 2 * MAX_LIMIT;
+
+    // Partitions smaller than this are not worth a fork
+    private static final int MIN_PARTITION_SIZE = 1_000;
+
+    private static final Comparator<ScoredVendor> BEST_FIRST = Comparator
+            .comparingInt(ScoredVendor::score)
+            .thenComparingLong(ScoredVendor::tieBreak)
+            .reversed();
+
+    private final RecommendationFeatureStore featureStore;
+    private final CacheManager cacheManager;
+    private final int parallelThreshold;
 
     // Keyword maps for scoring
     private static final Map<String, Set<String>> SPICY_KEYWORDS = Map.of(
@@ -34,12 +54,27 @@ public class RecommendationService {
             "healthy", Set.of("salad", "grilled", "steamed", "boiled", "fresh", "juice", "smoothie", "healthy", "diet")
     );
 
+    // Bit positions of the keyword categories in a menu item's keyword mask
+    static final List<String> SPICE_LEVELS = List.of("mild", "medium", "spicy", "fire");
+    static final List<String> MOODS = List.of("adventurous", "comfort", "quick", "healthy");
+    static final int CATEGORY_COUNT = SPICE_LEVELS.size() + MOODS.size();
+
+    // Every keyword set compiled once, so an item's text is classified in a single pass
+    private static final KeywordMatcher KEYWORD_MATCHER = KeywordMatcher.compile(Stream.concat(
+                    SPICE_LEVELS.stream().map(SPICY_KEYWORDS::get),
+                    MOODS.stream().map(MOOD_KEYWORDS::get))
+            .toList());
+
     private static final Map<String, BigDecimal[]> BUDGET_RANGES = Map.of(
             "low", new BigDecimal[]{BigDecimal.ZERO, new BigDecimal("100")},
             "medium", new BigDecimal[]{new BigDecimal("50"), new BigDecimal("300")},
             "high", new BigDecimal[]{new BigDecimal("200"), new BigDecimal("99999")}
     );
 
+    // Index order of the per-vendor budget counts
+    static final List<String> BUDGETS = List.of("low", "medium", "high");
+    static final int BUDGET_COUNT = BUDGETS.size();
+
     private static final String[] MATCH_LABELS = {
             "🔥 Your perfect street food match!",
             "⭐ A stellar pick for your mood!",
@@ -49,151 +84,271 @@ public class RecommendationService {
             "🍽️ Made for your appetite!"
     };
 
-    public RecommendationService(VendorRepository vendorRepository, MenuItemRepository menuItemRepository) {
-        this.vendorRepository = vendorRepository;
-        this.menuItemRepository = menuItemRepository;
+    public RecommendationService(
+            RecommendationFeatureStore featureStore,
+            CacheManager cacheManager,
+            MeterRegistry meterRegistry,
+            @Value("${streetbite.recommend.parallel-threshold:5000}") int parallelThreshold) {
+        this.featureStore = featureStore;
+        this.cacheManager = cacheManager;
+        this.parallelThreshold = parallelThreshold;
+
+        Cache cache = cacheManager.getCache(RECOMMENDATION_CACHE);
+        if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            Gauge.builder("streetbite.recommend.cache.hit.ratio", caffeine, c -> c.stats().hitRate())
+                    .description("Share of recommendation requests served from a cached ranking")
+                    .register(meterRegistry);
+        }
     }
 
     public List<RecommendResponse> recommend(RecommendRequest request) {
-        List<Vendor> activeVendors = vendorRepository.findByIsActiveTrueAndStatusNotIn(
-                List.of(VendorStatus.REJECTED, VendorStatus.BANNED, VendorStatus.SUSPENDED, VendorStatus.PENDING)
-        );
+        RecommendationFeatureStore.Snapshot features = featureStore.snapshot();
+        List<RankedVendor> ranked = new ArrayList<>(rankedCandidates(features, Preferences.of(request)));
 
-        List<ScoredVendor> scoredVendors = new ArrayList<>();
+        // Equal scores come out in a different order on every request so results feel fresh
+        Random rand = new Random();
+        shuffleTies(ranked, rand);
 
-        for (Vendor vendor : activeVendors) {
-            List<MenuItem> menuItems = menuItemRepository.findByVendorIdAndAvailableTrue(vendor.getId());
-            if (menuItems.isEmpty()) continue;
+        List<RankedVendor> selected = ranked.subList(0, Math.min(ranked.size(), resolveLimit(request.getLimit())));
+        Map<Long, String> images = featureStore.displayImageUrls(
+                selected.stream().map(rv -> rv.vendor().vendorId()).toList());
+        return selected.stream()
+                .map(rv -> toResponse(rv.vendor(), rv.score(), images.get(rv.vendor().vendorId()), rand))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Drops every cached ranking; called once the feature store has applied a change.
+     */
+    public void evictRankings() {
+        Cache cache = cacheManager.getCache(RECOMMENDATION_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Best-first top slice for the preferences, cached per preference tuple. A ranking
+     * built from an older snapshot is recomputed, so a request racing an eviction
+     * never serves stale features for long.
+     */
+    private List<RankedVendor> rankedCandidates(RecommendationFeatureStore.Snapshot features, Preferences preferences) {
+        Cache cache = cacheManager.getCache(RECOMMENDATION_CACHE);
+        if (cache == null) {
+            return rank(features, preferences);
+        }
+
+        CachedRanking cached = cache.get(preferences, CachedRanking.class);
+        if (cached != null && cached.snapshot() == features) {
+            return cached.vendors();
+        }
+
+        List<RankedVendor> ranked = rank(features, preferences);
+        cache.put(preferences, new CachedRanking(features, ranked));
+        return ranked;
+    }
+
+    private List<RankedVendor> rank(RecommendationFeatureStore.Snapshot features, Preferences preferences) {
+        boolean[] cuisineMatches = matchCuisines(features, preferences.cuisine());
+        List<ScoredVendor> top = features.size() >= parallelThreshold
+                ? selectTopInParallel(features, preferences, cuisineMatches, CACHED_CANDIDATES)
+                : selectTop(features, preferences, cuisineMatches, 0, features.size(), CACHED_CANDIDATES);
+
+        return top.stream()
+                .map(sv -> new RankedVendor(features.vendors[sv.index()], sv.score()))
+                .toList();
+    }
+
+    static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
 
-            int score = scoreVendor(vendor, menuItems, request);
-            if (score > 0) {
-                scoredVendors.add(new ScoredVendor(vendor, menuItems, score));
+    /**
+     * The limit best vendors in [from, to), kept in a bounded min-heap so only O(limit)
+     * candidates are ever held. Ties are broken by a random key drawn on demand.
+     */
+    private List<ScoredVendor> selectTop(RecommendationFeatureStore.Snapshot features, Preferences preferences,
+                                         boolean[] cuisineMatches, int from, int to, int limit) {
+        PriorityQueue<ScoredVendor> heap = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = from; i < to; i++) {
+            int score = scoreVendor(features, i, preferences, cuisineMatches);
+            if (score <= 0) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(new ScoredVendor(i, score, random.nextLong()));
+                continue;
+            }
+
+            ScoredVendor worst = heap.peek();
+            if (score < worst.score()) {
+                continue;
+            }
+            long tieBreak = random.nextLong();
+            if (score > worst.score() || tieBreak > worst.tieBreak()) {
+                heap.poll();
+                heap.add(new ScoredVendor(i, score, tieBreak));
             }
         }
 
-        // Sort by score (desc), then by rating (desc) as tiebreaker
-        scoredVendors.sort((a, b) -> {
-            int cmp = Integer.compare(b.score, a.score);
-            if (cmp != 0) return cmp;
-            double ratingA = a.vendor.getAverageRating() != null ? a.vendor.getAverageRating() : 0;
-            double ratingB = b.vendor.getAverageRating() != null ? b.vendor.getAverageRating() : 0;
-            return Double.compare(ratingB, ratingA);
-        });
+        List<ScoredVendor> top = new ArrayList<>(heap);
+        top.sort(BEST_FIRST);
+        return top;
+    }
 
-        // Add a small shuffle to top-scoring ties so results feel fresh
-        shuffleTies(scoredVendors);
+    /**
+     * Scores contiguous partitions of the catalogue on the common pool and merges their
+     * top lists; every tie key is independent, so the merge keeps ties uniformly random.
+     */
+    private List<ScoredVendor> selectTopInParallel(RecommendationFeatureStore.Snapshot features,
+                                                   Preferences preferences, boolean[] cuisineMatches, int limit) {
+        int size = features.size();
+        int partitions = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), size / MIN_PARTITION_SIZE));
+        int partitionSize = (size + partitions - 1) / partitions;
 
-        Random rand = new Random();
-        return scoredVendors.stream()
-                .limit(5)
-                .map(sv -> toResponse(sv, rand))
-                .collect(Collectors.toList());
+        return IntStream.range(0, partitions)
+                .parallel()
+                .mapToObj(p -> selectTop(features, preferences, cuisineMatches,
+                        p * partitionSize, Math.min(size, (p + 1) * partitionSize), limit))
+                .flatMap(List::stream)
+                .sorted(BEST_FIRST)
+                .limit(limit)
+                .toList();
     }
 
-    private int scoreVendor(Vendor vendor, List<MenuItem> items, RecommendRequest request) {
+    private int scoreVendor(RecommendationFeatureStore.Snapshot features, int vendor, Preferences preferences,
+                            boolean[] cuisineMatches) {
         int score = 0;
 
         // 1. Cuisine match (big weight)
-        if (request.getCuisine() != null && !request.getCuisine().isBlank()) {
-            String vendorCuisine = vendor.getCuisine() != null ? vendor.getCuisine().toLowerCase() : "";
-            if (vendorCuisine.contains(request.getCuisine().toLowerCase())) {
-                score += 30;
-            }
+        if (cuisineMatches != null && cuisineMatches[features.cuisineIds[vendor]]) {
+            score += 30;
         }
 
         // 2. Budget match
-        if (request.getBudget() != null) {
-            BigDecimal[] range = BUDGET_RANGES.getOrDefault(request.getBudget(), BUDGET_RANGES.get("medium"));
-            long matchingItems = items.stream()
-                    .filter(item -> item.getPrice() != null)
-                    .filter(item -> item.getPrice().compareTo(range[0]) >= 0 && item.getPrice().compareTo(range[1]) <= 0)
-                    .count();
-            score += (int) Math.min(matchingItems * 5, 25);
+        if (preferences.budget() >= 0) {
+            int matchingItems = features.budgetCounts[vendor * BUDGET_COUNT + preferences.budget()];
+            score += Math.min(matchingItems * 5, 25);
         }
 
         // 3. Spice level keyword matching
-        if (request.getSpiceLevel() != null) {
-            Set<String> keywords = SPICY_KEYWORDS.getOrDefault(request.getSpiceLevel(), Set.of());
-            long matches = items.stream()
-                    .filter(item -> matchesKeywords(item, keywords))
-                    .count();
-            score += (int) Math.min(matches * 4, 20);
+        if (preferences.spiceCategory() >= 0) {
+            int matches = features.keywordCounts[vendor * CATEGORY_COUNT + preferences.spiceCategory()];
+            score += Math.min(matches * 4, 20);
         }
 
         // 4. Mood keyword matching
-        if (request.getMood() != null) {
-            Set<String> keywords = MOOD_KEYWORDS.getOrDefault(request.getMood(), Set.of());
-            long matches = items.stream()
-                    .filter(item -> matchesKeywords(item, keywords))
-                    .count();
-            score += (int) Math.min(matches * 4, 20);
+        if (preferences.moodCategory() >= 0) {
+            int matches = features.keywordCounts[vendor * CATEGORY_COUNT + preferences.moodCategory()];
+            score += Math.min(matches * 4, 20);
         }
 
         // 5. Rating bonus
-        double avgRating = vendor.getAverageRating() != null ? vendor.getAverageRating() : 0;
+        double avgRating = features.ratings[vendor];
         if (avgRating >= 4.5) score += 15;
         else if (avgRating >= 4.0) score += 10;
         else if (avgRating >= 3.0) score += 5;
 
         // 6. Review count trust bonus
-        int reviews = vendor.getReviewCount() != null ? vendor.getReviewCount() : 0;
+        int reviews = features.reviewCounts[vendor];
         if (reviews >= 20) score += 10;
         else if (reviews >= 5) score += 5;
 
         return score;
     }
 
-    private boolean matchesKeywords(MenuItem item, Set<String> keywords) {
-        String searchable = ((item.getName() != null ? item.getName() : "") + " " +
-                (item.getDescription() != null ? item.getDescription() : "") + " " +
-                (item.getCategory() != null ? item.getCategory() : "")).toLowerCase();
-        return keywords.stream().anyMatch(searchable::contains);
+    /**
+     * Which of the snapshot's distinct cuisines contain the normalized requested one, or
+     * null when the request has no cuisine preference.
+     */
+    private boolean[] matchCuisines(RecommendationFeatureStore.Snapshot features, String wanted) {
+        if (wanted == null) {
+            return null;
+        }
+
+        boolean[] matches = new boolean[features.cuisines.length];
+        for (int i = 0; i < matches.length; i++) {
+            matches[i] = features.cuisines[i].contains(wanted);
+        }
+        return matches;
+    }
+
+    // Unknown budgets are scored as medium
+    private static int budgetIndex(String budget) {
+        int index = BUDGETS.indexOf(budget);
+        return index >= 0 ? index : BUDGETS.indexOf("medium");
     }
 
-    private void shuffleTies(List<ScoredVendor> list) {
-        if (list.size() <= 1) return;
+    static boolean isInBudget(int budget, BigDecimal price) {
+        BigDecimal[] range = BUDGET_RANGES.get(BUDGETS.get(budget));
+        return price.compareTo(range[0]) >= 0 && price.compareTo(range[1]) <= 0;
+    }
 
-        Random rand = new Random();
-        int i = 0;
-        while (i < list.size()) {
-            int j = i;
-            while (j < list.size() && list.get(j).score == list.get(i).score) {
-                j++;
+    /**
+     * Keyword categories (see {@link #SPICE_LEVELS} and {@link #MOODS}) matched by a menu item's text.
+     */
+    static int keywordMask(String name, String description, String category) {
+        return KEYWORD_MATCHER.match(name, description, category);
+    }
+
+    private static void shuffleTies(List<RankedVendor> ranked, Random rand) {
+        int start = 0;
+        while (start < ranked.size()) {
+            int end = start + 1;
+            while (end < ranked.size() && ranked.get(end).score() == ranked.get(start).score()) {
+                end++;
             }
-            // Shuffle the sublist [i, j)
-            if (j - i > 1) {
-                List<ScoredVendor> sub = list.subList(i, j);
-                Collections.shuffle(sub, rand);
+            if (end - start > 1) {
+                Collections.shuffle(ranked.subList(start, end), rand);
             }
-            i = j;
+            start = end;
         }
     }
 
-    private RecommendResponse toResponse(ScoredVendor sv, Random rand) {
+    private RecommendResponse toResponse(
+            RecommendationFeatureStore.VendorFeatures vendor, int score, String displayImageUrl, Random rand) {
         RecommendResponse res = new RecommendResponse();
-        res.setVendorId(sv.vendor.getId());
-        res.setVendorName(sv.vendor.getName());
-        res.setVendorSlug(sv.vendor.getSlug());
-        res.setCuisine(sv.vendor.getCuisine());
-        res.setRating(sv.vendor.getAverageRating() != null ? sv.vendor.getAverageRating() : 0.0);
-        res.setReviewCount(sv.vendor.getReviewCount() != null ? sv.vendor.getReviewCount() : 0);
-        res.setDisplayImageUrl(sv.vendor.getDisplayImageUrl());
-        res.setAddress(sv.vendor.getAddress());
-        res.setMatchScore(sv.score);
+        res.setVendorId(vendor.vendorId());
+        res.setVendorName(vendor.name());
+        res.setVendorSlug(vendor.slug());
+        res.setCuisine(vendor.cuisine());
+        res.setRating(vendor.averageRating());
+        res.setReviewCount(vendor.reviewCount());
+        res.setDisplayImageUrl(displayImageUrl);
+        res.setAddress(vendor.address());
+        res.setMatchScore(score);
         res.setMatchReason(MATCH_LABELS[rand.nextInt(MATCH_LABELS.length)]);
-
-        List<RecommendResponse.RecommendedDish> topDishes = sv.items.stream()
-                .limit(3)
-                .map(item -> new RecommendResponse.RecommendedDish(
-                        item.getName(),
-                        item.getPrice(),
-                        item.getCategory()
-                ))
-                .collect(Collectors.toList());
-        res.setTopDishes(topDishes);
+        res.setTopDishes(vendor.topDishes());
 
         return res;
     }
 
-    private record ScoredVendor(Vendor vendor, List<MenuItem> items, int score) {}
+    /**
+     * A request reduced to what scoring reads; equal tuples share a cached ranking.
+     */
+    record Preferences(String cuisine, int budget, int spiceCategory, int moodCategory) {
+
+        static Preferences of(RecommendRequest request) {
+            String cuisine = request.getCuisine() != null && !request.getCuisine().isBlank()
+                    ? request.getCuisine().trim().toLowerCase()
+                    : null;
+            int budget = request.getBudget() != null ? budgetIndex(request.getBudget()) : -1;
+            int spiceCategory = request.getSpiceLevel() != null ? SPICE_LEVELS.indexOf(request.getSpiceLevel()) : -1;
+            int moodCategory = request.getMood() != null && MOODS.contains(request.getMood())
+                    ? SPICE_LEVELS.size() + MOODS.indexOf(request.getMood())
+                    : -1;
+            return new Preferences(cuisine, budget, spiceCategory, moodCategory);
+        }
+    }
+
+    private record RankedVendor(RecommendationFeatureStore.VendorFeatures vendor, int score) {}
+
+    private record CachedRanking(RecommendationFeatureStore.Snapshot snapshot, List<RankedVendor> vendors) {}
+
+    private record ScoredVendor(int index, int score, long tieBreak) {}
 }
@@ -1,6 +1,8 @@
 package com.streetbite.service;
 
 import com.streetbite.dto.review.ReviewCreateRequest;
+import com.streetbite.dto.review.ReviewImageResponse;
+import com.streetbite.dto.review.ReviewPageResponse;
 import com.streetbite.dto.review.ReviewResponse;
 import com.streetbite.dto.review.ReviewUpdateRequest;
 import com.streetbite.model.Review;
@@ -9,11 +11,21 @@ import com.streetbite.model.User;
 import com.streetbite.model.Vendor;
 import com.streetbite.repository.ReviewRepository;
 import com.streetbite.repository.VendorRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class ReviewService {
@@ -21,14 +33,17 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final VendorRepository vendorRepository;
     private final VendorStatsService vendorStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ReviewService(
             ReviewRepository reviewRepository,
             VendorRepository vendorRepository,
-            VendorStatsService vendorStatsService) {
+            VendorStatsService vendorStatsService,
+            ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
         this.vendorRepository = vendorRepository;
         this.vendorStatsService = vendorStatsService;
+        this.eventPublisher = eventPublisher;
     }
 
     public Optional<Review> getReviewById(Long id) {
@@ -41,6 +56,55 @@ public class ReviewService {
                 .toList();
     }
 
+    /**
+     * One keyset page of a vendor's reviews in the given sort. Reviews come from a single
+     * projection query with the author joined in, and their images from one more query.
+     * The cursor is the opaque next value of the previous page, or null for the first page.
+     */
+    public ReviewPageResponse getReviewPage(Long vendorId, ReviewSort sort, String cursor, int size) {
+        ReviewCursor after = cursor == null || cursor.isBlank() ? null : ReviewCursor.decode(cursor);
+        // One extra row tells whether another page follows
+        Pageable pageable = PageRequest.of(0, size + 1);
+
+        List<ReviewRepository.ReviewListing> rows = switch (sort) {
+            case NEWEST -> after == null
+                    ? reviewRepository.findNewestListings(vendorId, pageable)
+                    : reviewRepository.findNewestListingsAfter(vendorId, after.createdAt(), after.id(), pageable);
+            case HIGHEST -> after == null
+                    ? reviewRepository.findHighestListings(vendorId, pageable)
+                    : after.rating() == null
+                    ? reviewRepository.findHighestListingsAfterUnrated(vendorId, after.createdAt(), after.id(), pageable)
+                    : reviewRepository.findHighestListingsAfter(
+                            vendorId, after.rating(), after.createdAt(), after.id(), pageable);
+            case LOWEST -> after == null
+                    ? reviewRepository.findLowestListings(vendorId, pageable)
+                    : after.rating() == null
+                    ? reviewRepository.findLowestListingsAfterUnrated(vendorId, after.createdAt(), after.id(), pageable)
+                    : reviewRepository.findLowestListingsAfter(
+                            vendorId, after.rating(), after.createdAt(), after.id(), pageable);
+        };
+
+        boolean hasMore = rows.size() > size;
+        List<ReviewRepository.ReviewListing> page = hasMore ? rows.subList(0, size) : rows;
+        if (page.isEmpty()) {
+            return ReviewPageResponse.of(List.of(), null);
+        }
+
+        Map<Long, List<ReviewImageResponse>> imagesByReview = reviewRepository
+                .findImageListingsByReviewIdIn(page.stream().map(ReviewRepository.ReviewListing::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(
+                        ReviewRepository.ReviewImageListing::getReviewId,
+                        Collectors.mapping(ReviewImageResponse::from, Collectors.toList())));
+
+        List<ReviewResponse> items = page.stream()
+                .map(listing -> ReviewResponse.from(
+                        listing, vendorId, imagesByReview.getOrDefault(listing.getId(), List.of())))
+                .toList();
+        String next = hasMore ? ReviewCursor.of(page.get(page.size() - 1)).encode() : null;
+        return ReviewPageResponse.of(items, next);
+    }
+
     public List<ReviewResponse> getReviewsByUser(Long userId) {
         return reviewRepository.findByUserId(userId).stream()
                 .map(ReviewResponse::from)
@@ -63,7 +127,8 @@ public class ReviewService {
         applyReviewValues(review, request.getRating(), request.getComment(), request.getImageUrls());
 
         Review savedReview = reviewRepository.save(review);
-        vendorStatsService.updateVendorStats(vendorId);
+        vendorStatsService.recordRatingAdded(vendorId, savedReview.getRating());
+        eventPublisher.publishEvent(new RealtimeSyncEvents.ReviewChangedEvent(vendorId));
         return ReviewResponse.from(savedReview);
     }
 
@@ -76,6 +141,8 @@ public class ReviewService {
             throw new SecurityException("You can only edit your own reviews");
         }
 
+        Integer previousRating = review.getRating();
+
         applyReviewValues(
                 review,
                 request.getRating() != null ? request.getRating() : review.getRating(),
@@ -84,7 +151,16 @@ public class ReviewService {
 
         Review updatedReview = reviewRepository.save(review);
         if (review.getVendor() != null && review.getVendor().getId() != null) {
-            vendorStatsService.updateVendorStats(review.getVendor().getId());
+            Long vendorId = review.getVendor().getId();
+            if (!updatedReview.getRating().equals(previousRating)) {
+                if (previousRating == null) {
+                    // Legacy review without a rating: it is counted for the first time
+                    vendorStatsService.recordRatingAdded(vendorId, updatedReview.getRating());
+                } else {
+                    vendorStatsService.recordRatingChanged(vendorId, previousRating, updatedReview.getRating());
+                }
+                eventPublisher.publishEvent(new RealtimeSyncEvents.ReviewChangedEvent(vendorId));
+            }
         }
         return ReviewResponse.from(updatedReview);
     }
@@ -99,9 +175,14 @@ public class ReviewService {
         }
 
         Long vendorId = review.getVendor() != null ? review.getVendor().getId() : null;
+        Integer rating = review.getRating();
         reviewRepository.delete(review);
         if (vendorId != null) {
-            vendorStatsService.updateVendorStats(vendorId);
+            if (rating != null) {
+                vendorStatsService.recordRatingRemoved(vendorId, rating);
+            }
+            // Even an unrated review may be among the vendor's recent review ids
+            eventPublisher.publishEvent(new RealtimeSyncEvents.ReviewChangedEvent(vendorId));
         }
     }
 
@@ -138,4 +219,51 @@ public class ReviewService {
             throw new IllegalArgumentException("Comment is required");
         }
     }
+
+    public enum ReviewSort {
+        NEWEST, HIGHEST, LOWEST;
+
+        public static ReviewSort from(String value) {
+            if (value == null || value.isBlank()) {
+                return NEWEST;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Sort must be one of newest, highest or lowest");
+            }
+        }
+    }
+
+    /**
+     * Sort key of the last review on a page, carried between requests as URL-safe base64.
+     * Legacy reviews have no rating, which is encoded as an empty first field.
+     */
+    record ReviewCursor(Integer rating, LocalDateTime createdAt, Long id) {
+
+        static ReviewCursor of(ReviewRepository.ReviewListing listing) {
+            return new ReviewCursor(listing.getRating(), listing.getCreatedAt(), listing.getId());
+        }
+
+        String encode() {
+            String value = (rating != null ? rating.toString() : "") + "|" + createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ReviewCursor decode(String cursor) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = value.split("\\|", -1);
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                return new ReviewCursor(
+                        parts[0].isEmpty() ? null : Integer.valueOf(parts[0]),
+                        LocalDateTime.parse(parts[1]),
+                        Long.valueOf(parts[2]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package com.streetbite.service;
+
+import com.streetbite.dto.review.ReviewSummaryResponse;
+
+import java.util.List;
+
+/**
+ * Immutable review summary of one vendor: a 1-5 star histogram, the rating sum and the most
+ * recent review ids, newest first. Review changes replace the cached instance rather than
+ * modifying it.
+ */
+final class ReviewSummary {
+
+    private final int[] histogram;
+    private final long ratingSum;
+    private final List<Long> recentIds;
+
+    private ReviewSummary(int[] histogram, long ratingSum, List<Long> recentIds) {
+        this.histogram = histogram;
+        this.ratingSum = ratingSum;
+        this.recentIds = recentIds;
+    }
+
+    /**
+     * Builds a summary from stored star counts and recent ids listed newest first.
+     */
+    static ReviewSummary of(int[] starCounts, long ratingSum, List<Long> recentIdsNewestFirst, int recentCapacity) {
+        int[] histogram = new int[5];
+        System.arraycopy(starCounts, 0, histogram, 0, histogram.length);
+        List<Long> recentIds = List.copyOf(
+                recentIdsNewestFirst.subList(0, Math.min(recentIdsNewestFirst.size(), recentCapacity)));
+        return new ReviewSummary(histogram, ratingSum, recentIds);
+    }
+
+    ReviewSummaryResponse toResponse(Long vendorId) {
+        int reviewCount = 0;
+        for (int count : histogram) {
+            reviewCount += count;
+        }
+        double average = reviewCount > 0 ? (double) ratingSum / reviewCount : 0.0;
+        return ReviewSummaryResponse.of(vendorId, reviewCount, Math.round(average * 10.0) / 10.0,
+                histogram.clone(), recentIds);
+    }
+}
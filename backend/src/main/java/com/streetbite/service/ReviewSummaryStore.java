@@ -0,0 +1,124 @@
+package com.streetbite.service;
+
+import com.streetbite.dto.review.ReviewSummaryResponse;
+import com.streetbite.repository.ReviewRepository;
+import com.streetbite.repository.VendorRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-vendor {@link ReviewSummary} instances cached in reviewSummaries. A miss is built from
+ * the vendor's rating totals and one query for the latest review ids. Committed review
+ * changes, rewritten rating totals and vendor deletions evict the vendor's summary, and
+ * the next read reloads it.
+ *
+ * A load can read totals from before a commit whose eviction lands while it runs. Each
+ * eviction bumps a generation counter for the vendor's stripe, and a load that sees the
+ * generation move drops what it cached rather than keep the stale summary.
+ */
+@Component
+public class ReviewSummaryStore {
+
+    static final String SUMMARY_CACHE = "reviewSummaries";
+    static final int RECENT_REVIEW_COUNT = 5;
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final VendorRepository vendorRepository;
+    private final ReviewRepository reviewRepository;
+    private final CacheManager cacheManager;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public ReviewSummaryStore(
+            VendorRepository vendorRepository,
+            ReviewRepository reviewRepository,
+            CacheManager cacheManager) {
+        this.vendorRepository = vendorRepository;
+        this.reviewRepository = reviewRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Summary of the vendor's reviews; empty when the vendor does not exist.
+     */
+    public Optional<ReviewSummaryResponse> getSummary(Long vendorId) {
+        Cache cache = cacheManager.getCache(SUMMARY_CACHE);
+        ReviewSummary summary = cache != null ? cache.get(vendorId, ReviewSummary.class) : null;
+        if (summary == null) {
+            int stripe = stripeOf(vendorId);
+            long generation = generations.get(stripe);
+            summary = load(vendorId);
+            if (summary == null) {
+                return Optional.empty();
+            }
+            if (cache != null) {
+                cache.put(vendorId, summary);
+                if (generations.get(stripe) != generation) {
+                    // A review change committed while loading; the summary may predate it
+                    cache.evict(vendorId);
+                }
+            }
+        }
+        return Optional.of(summary.toResponse(vendorId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleReviewChanged(RealtimeSyncEvents.ReviewChangedEvent event) {
+        evict(event.vendorId());
+    }
+
+    // Totals rewritten by a stats recomputation; delivered after its transaction commits
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleVendorStatsUpdated(RealtimeSyncEvents.VendorStatsUpdatedEvent event) {
+        evict(event.vendorId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleVendorDeleted(RealtimeSyncEvents.VendorDeletedEvent event) {
+        evict(event.vendorId());
+    }
+
+    private void evict(Long vendorId) {
+        if (vendorId == null) {
+            return;
+        }
+        generations.incrementAndGet(stripeOf(vendorId));
+        Cache cache = cacheManager.getCache(SUMMARY_CACHE);
+        if (cache != null) {
+            cache.evict(vendorId);
+        }
+    }
+
+    private static int stripeOf(Long vendorId) {
+        return Math.floorMod(Long.hashCode(vendorId), GENERATION_STRIPES);
+    }
+
+    private ReviewSummary load(Long vendorId) {
+        VendorRepository.RatingHistogram totals = vendorRepository.findRatingHistogramById(vendorId).orElse(null);
+        if (totals == null) {
+            return null;
+        }
+
+        int[] starCounts = {
+                count(totals.getOneStarCount()),
+                count(totals.getTwoStarCount()),
+                count(totals.getThreeStarCount()),
+                count(totals.getFourStarCount()),
+                count(totals.getFiveStarCount())
+        };
+        long ratingSum = totals.getRatingSum() != null ? totals.getRatingSum() : 0L;
+        List<Long> recentIds = reviewRepository.findRecentIds(vendorId, PageRequest.of(0, RECENT_REVIEW_COUNT));
+        return ReviewSummary.of(starCounts, ratingSum, recentIds, RECENT_REVIEW_COUNT);
+    }
+
+    private static int count(Integer value) {
+        return value != null ? value : 0;
+    }
+}
@@ -15,6 +15,9 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private LeaderboardIndex leaderboardIndex;
+
     @Transactional
     public User saveUser(User user) {
         return userRepository.save(user);
@@ -56,6 +59,8 @@ public class UserService {
     @Transactional
     public User updateActiveStatus(User user, boolean isActive) {
         user.setActive(isActive);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        leaderboardIndex.update(saved);
+        return saved;
     }
 }
@@ -0,0 +1,175 @@
+package com.streetbite.service;
+
+import com.streetbite.model.VendorStatus;
+import com.streetbite.repository.VendorRepository;
+import com.streetbite.util.GeoHash;
+import com.streetbite.util.GeoUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resident geohash grid over searchable vendor coordinates.
+ *
+ * Each cell keeps vendor ids and coordinates in parallel primitive arrays so a radius
+ * query only touches the cells overlapping its bounding box and computes every distance once.
+ * Writers are serialized on the index; readers only lock the cell they are scanning.
+ */
+@Component
+public class VendorGeoIndex {
+
+    // ~1.2km x 0.6km cells, so the default 2km search covers a few dozen cells
+    static final int CELL_PRECISION = 6;
+    private static final int MAX_SCANNED_CELLS = 4096;
+
+    private final Map<String, Cell> cells = new ConcurrentHashMap<>();
+    private final Map<Long, String> cellByVendor = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return cellByVendor.size();
+    }
+
+    public synchronized void rebuild(Collection<VendorRepository.VendorLocation> locations) {
+        cells.clear();
+        cellByVendor.clear();
+        for (VendorRepository.VendorLocation location : locations) {
+            upsert(location.getId(), location.getStatus(), location.getLatitude(), location.getLongitude());
+        }
+        ready = true;
+    }
+
+    public synchronized void upsert(Long vendorId, VendorStatus status, Double latitude, Double longitude) {
+        if (vendorId == null) {
+            return;
+        }
+        if (!isSearchable(status) || latitude == null || longitude == null) {
+            remove(vendorId);
+            return;
+        }
+
+        String cellKey = GeoHash.encode(latitude, longitude, CELL_PRECISION);
+        String previousKey = cellByVendor.put(vendorId, cellKey);
+        if (previousKey != null && !previousKey.equals(cellKey)) {
+            removeFromCell(previousKey, vendorId);
+        }
+        cells.computeIfAbsent(cellKey, key -> new Cell()).put(vendorId, latitude, longitude);
+    }
+
+    public synchronized void remove(Long vendorId) {
+        if (vendorId == null) {
+            return;
+        }
+        String cellKey = cellByVendor.remove(vendorId);
+        if (cellKey != null) {
+            removeFromCell(cellKey, vendorId);
+        }
+    }
+
+    /**
+     * Vendors within radiusMeters of the point, nearest first.
+     */
+    public List<Hit> findWithin(double lat, double lng, double radiusMeters) {
+        if (!(radiusMeters > 0)) {
+            return List.of();
+        }
+
+        GeoUtils.BoundingBox box = GeoUtils.boundingBox(lat, lng, radiusMeters);
+        Set<String> cellKeys = GeoHash.coveringCells(box, CELL_PRECISION, MAX_SCANNED_CELLS);
+
+        List<Hit> hits = new ArrayList<>();
+        if (cellKeys == null) {
+            for (Cell cell : cells.values()) {
+                cell.collect(lat, lng, radiusMeters, hits);
+            }
+        } else {
+            for (String cellKey : cellKeys) {
+                Cell cell = cells.get(cellKey);
+                if (cell != null) {
+                    cell.collect(lat, lng, radiusMeters, hits);
+                }
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::distanceMeters));
+        return hits;
+    }
+
+    private void removeFromCell(String cellKey, Long vendorId) {
+        Cell cell = cells.get(cellKey);
+        if (cell != null && cell.remove(vendorId)) {
+            cells.remove(cellKey, cell);
+        }
+    }
+
+    private boolean isSearchable(VendorStatus status) {
+        return status != null && VendorSearchService.SEARCHABLE_STATUSES.contains(status);
+    }
+
+    public record Hit(long vendorId, double distanceMeters) {
+    }
+
+    private static final class Cell {
+        private long[] ids = new long[4];
+        private double[] lats = new double[4];
+        private double[] lngs = new double[4];
+        private int size;
+
+        synchronized void put(long id, double lat, double lng) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    lats[i] = lat;
+                    lngs[i] = lng;
+                    return;
+                }
+            }
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                lats = Arrays.copyOf(lats, capacity);
+                lngs = Arrays.copyOf(lngs, capacity);
+            }
+            ids[size] = id;
+            lats[size] = lat;
+            lngs[size] = lng;
+            size++;
+        }
+
+        /**
+         * @return true when the cell is empty afterwards
+         */
+        synchronized boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    int last = size - 1;
+                    ids[i] = ids[last];
+                    lats[i] = lats[last];
+                    lngs[i] = lngs[last];
+                    size = last;
+                    break;
+                }
+            }
+            return size == 0;
+        }
+
+        synchronized void collect(double lat, double lng, double radiusMeters, List<Hit> out) {
+            for (int i = 0; i < size; i++) {
+                double distance = GeoUtils.distanceMeters(lat, lng, lats[i], lngs[i]);
+                if (distance <= radiusMeters) {
+                    out.add(new Hit(ids[i], distance));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.streetbite.service;
+
+import com.streetbite.repository.VendorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps {@link VendorGeoIndex} in step with committed vendor changes.
+ */
+@Component
+public class VendorGeoIndexListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(VendorGeoIndexListener.class);
+
+    private final VendorGeoIndex vendorGeoIndex;
+    private final VendorRepository vendorRepository;
+
+    public VendorGeoIndexListener(VendorGeoIndex vendorGeoIndex, VendorRepository vendorRepository) {
+        this.vendorGeoIndex = vendorGeoIndex;
+        this.vendorRepository = vendorRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        try {
+            vendorGeoIndex.rebuild(vendorRepository.findLocationsByStatusIn(VendorSearchService.SEARCHABLE_STATUSES));
+            logger.info("Vendor geo index built with {} searchable vendors", vendorGeoIndex.size());
+        } catch (Exception e) {
+            // Search falls back to scanning the database until the next successful rebuild
+            logger.warn("Failed to build vendor geo index: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleVendorUpdated(RealtimeSyncEvents.VendorUpdatedEvent event) {
+        vendorGeoIndex.upsert(event.vendorId(), event.status(), event.latitude(), event.longitude());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleVendorDeleted(RealtimeSyncEvents.VendorDeletedEvent event) {
+        vendorGeoIndex.remove(event.vendorId());
+    }
+}
@@ -0,0 +1,84 @@
+package com.streetbite.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evicts only the vendorSearch cells touched by a committed vendor change: the cell the
+ * vendor now sits in and the cell of its previous stored position. A deleted vendor has no
+ * coordinates in its event, so every cached cell listing it is evicted instead.
+ */
+@Component
+public class VendorSearchCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final VendorSearchService vendorSearchService;
+
+    public VendorSearchCacheInvalidator(CacheManager cacheManager, VendorSearchService vendorSearchService) {
+        this.cacheManager = cacheManager;
+        this.vendorSearchService = vendorSearchService;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleVendorUpdated(RealtimeSyncEvents.VendorUpdatedEvent event) {
+        Cache cache = cacheManager.getCache(VendorSearchService.SEARCH_CACHE);
+        if (cache == null || event.vendorId() == null) {
+            return;
+        }
+
+        Set<String> cellKeys = new HashSet<>();
+        if (event.latitude() != null && event.longitude() != null) {
+            cellKeys.add(vendorSearchService.cellKeyFor(event.latitude(), event.longitude()));
+        }
+        if (event.previousLatitude() != null && event.previousLongitude() != null) {
+            cellKeys.add(vendorSearchService.cellKeyFor(event.previousLatitude(), event.previousLongitude()));
+        }
+        for (String cellKey : cellKeys) {
+            vendorSearchService.markCellChanged(cellKey);
+            cache.evict(cellKey);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handleVendorDeleted(RealtimeSyncEvents.VendorDeletedEvent event) {
+        Cache cache = cacheManager.getCache(VendorSearchService.SEARCH_CACHE);
+        if (cache == null || event.vendorId() == null) {
+            return;
+        }
+
+        evictCellsListing(cache, event.vendorId());
+    }
+
+    private void evictCellsListing(Cache cache, Long vendorId) {
+        if (!(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+            // Without access to the entries the only safe option is dropping every cell
+            vendorSearchService.markAllCellsChanged();
+            cache.clear();
+            return;
+        }
+
+        long id = vendorId;
+        vendorSearchService.markAllCellsChanged();
+        nativeCache.asMap().entrySet().removeIf(entry -> listsVendor(entry, id));
+    }
+
+    private boolean listsVendor(Map.Entry<?, ?> entry, long vendorId) {
+        if (!(entry.getValue() instanceof List<?> candidates)) {
+            return false;
+        }
+        for (Object candidate : candidates) {
+            if (candidate instanceof VendorSearchService.Candidate c && c.vendorId() == vendorId) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
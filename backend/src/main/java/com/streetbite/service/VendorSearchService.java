@@ -1,65 +1,218 @@
 package com.streetbite.service;
 
+import com.streetbite.dto.vendor.VendorSummaryResponse;
 import com.streetbite.model.Vendor;
+import com.streetbite.model.VendorStatus;
 import com.streetbite.repository.VendorRepository;
+import com.streetbite.util.GeoHash;
+import com.streetbite.util.GeoUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class VendorSearchService {
 
+    // Only show APPROVED, AVAILABLE, or BUSY vendors in search results
+    public static final Set<VendorStatus> SEARCHABLE_STATUSES =
+            EnumSet.of(VendorStatus.APPROVED, VendorStatus.AVAILABLE, VendorStatus.BUSY);
+
+    public static final String SEARCH_CACHE = "vendorSearch";
+    public static final String MODE_INDEX = "index";
+
+    // Larger searches go straight to the database instead of filling the cache with cells
+    private static final int MAX_CACHED_CELLS_PER_QUERY = 64;
+    private static final int GENERATION_STRIPES = 1024;
+
+    // Bumped before a cell is invalidated; a load that sees its stripe move may predate the change
+    private final AtomicLongArray cellGenerations = new AtomicLongArray(GENERATION_STRIPES);
+
     @Autowired
     private VendorRepository vendorRepository;
 
-    @Cacheable(value = "vendorSearch", key = "#lat + '_' + #lng + '_' + #radiusMeters", unless = "#result.isEmpty()")
+    @Autowired
+    private VendorGeoIndex vendorGeoIndex;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${streetbite.search.mode:" + MODE_INDEX + "}")
+    private String searchMode;
+
+    @Value("${streetbite.search.cell-precision:5}")
+    private int cellPrecision;
+
     public List<Vendor> searchNearby(double lat, double lng, double radiusMeters) {
+        return searchNearby(lat, lng, radiusMeters, Integer.MAX_VALUE);
+    }
+
+    /**
+     * The nearest searchable vendors within radiusMeters, at most limit of them.
+     */
+    public List<Vendor> searchNearby(double lat, double lng, double radiusMeters, int limit) {
+        return loadInDistanceOrder(findNearest(lat, lng, radiusMeters, limit));
+    }
+
+    /**
+     * Same results as {@link #searchNearby(double, double, double, int)}, read as card-sized projections.
+     */
+    public List<VendorSummaryResponse> searchNearbySummaries(double lat, double lng, double radiusMeters, int limit) {
+        List<VendorGeoIndex.Hit> hits = findNearest(lat, lng, radiusMeters, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, VendorRepository.VendorSummary> summariesById = vendorRepository.findSummariesByIdIn(
+                hits.stream().map(VendorGeoIndex.Hit::vendorId).toList(), SEARCHABLE_STATUSES).stream()
+                .collect(Collectors.toMap(VendorRepository.VendorSummary::getId, Function.identity()));
+
+        return hits.stream()
+                .map(hit -> summariesById.get(hit.vendorId()))
+                .filter(Objects::nonNull)
+                .map(VendorSummaryResponse::from)
+                .toList();
+    }
+
+    /**
+     * Marks the cell as changed; call before evicting it, so a load already reading the
+     * vendor's old row does not keep its result.
+     */
+    public void markCellChanged(String cellKey) {
+        cellGenerations.incrementAndGet(stripeOf(cellKey));
+    }
 
-        // Get all active vendors
-        List<Vendor> allVendors = vendorRepository.findByIsActiveTrue();
-
-        // Filter by distance using Haversine formula
-        return allVendors.stream()
-                .filter(v -> {
-                    // Filter by status: Only show APPROVED, AVAILABLE, or BUSY
-                    com.streetbite.model.VendorStatus status = v.getStatus();
-                    return status == com.streetbite.model.VendorStatus.APPROVED ||
-                            status == com.streetbite.model.VendorStatus.AVAILABLE ||
-                            status == com.streetbite.model.VendorStatus.BUSY;
-                })
-                .filter(v -> {
-                    // Assuming Vendor entity has latitude and longitude fields (primitive double or
-                    // Double)
-                    // If they are Double objects, check for nulls
-                    return v.getLatitude() != null && v.getLongitude() != null;
-                })
-                .filter(v -> {
-                    double distance = distanceMeters(lat, lng, v.getLatitude(), v.getLongitude());
-                    return distance <= radiusMeters;
-                })
-                .sorted((v1, v2) -> {
-                    double d1 = distanceMeters(lat, lng, v1.getLatitude(), v1.getLongitude());
-                    double d2 = distanceMeters(lat, lng, v2.getLatitude(), v2.getLongitude());
-                    return Double.compare(d1, d2);
-                })
-                .collect(Collectors.toList());
+    /**
+     * Marks every cell as changed, for invalidations that cannot name their cells.
+     */
+    public void markAllCellsChanged() {
+        for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+            cellGenerations.incrementAndGet(stripe);
+        }
     }
 
-    private double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
-        final int R = 6371000; // Earth radius in meters
+    /**
+     * The {@link #SEARCH_CACHE} key of the cell containing the point.
+     */
+    public String cellKeyFor(double lat, double lng) {
+        return GeoHash.encode(lat, lng, cellPrecision);
+    }
+
+    private List<VendorGeoIndex.Hit> findNearest(double lat, double lng, double radiusMeters, int limit) {
+        if (!(radiusMeters > 0) || limit <= 0) {
+            return List.of();
+        }
+
+        List<VendorGeoIndex.Hit> hits = MODE_INDEX.equalsIgnoreCase(searchMode) && vendorGeoIndex.isReady()
+                ? vendorGeoIndex.findWithin(lat, lng, radiusMeters)
+                : findWithinCells(lat, lng, radiusMeters);
+        return hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+
+    /**
+     * Cached path: the query is snapped to the geohash cells it overlaps and each cell's
+     * candidates are loaded once, so nearby requests with different GPS noise share entries.
+     */
+    private List<VendorGeoIndex.Hit> findWithinCells(double lat, double lng, double radiusMeters) {
+        GeoUtils.BoundingBox box = GeoUtils.boundingBox(lat, lng, radiusMeters);
+        Set<String> cellKeys = GeoHash.coveringCells(box, cellPrecision, MAX_CACHED_CELLS_PER_QUERY);
+        if (cellKeys == null) {
+            return findWithinBounds(lat, lng, radiusMeters, box);
+        }
 
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lng2 - lng1);
+        Cache cache = cacheManager.getCache(SEARCH_CACHE);
+        Set<Long> seen = new HashSet<>();
+        List<VendorGeoIndex.Hit> hits = new ArrayList<>();
+        for (String cellKey : cellKeys) {
+            List<Candidate> candidates = cache != null ? cachedCell(cache, cellKey) : loadCell(cellKey);
+            for (Candidate candidate : candidates) {
+                double distance = GeoUtils.distanceMeters(lat, lng, candidate.latitude(), candidate.longitude());
+                // Vendors exactly on a shared edge come back from both cells
+                if (distance <= radiusMeters && seen.add(candidate.vendorId())) {
+                    hits.add(new VendorGeoIndex.Hit(candidate.vendorId(), distance));
+                }
+            }
+        }
 
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
-                        Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        hits.sort(Comparator.comparingDouble(VendorGeoIndex.Hit::distanceMeters));
+        return hits;
+    }
+
+    private List<Candidate> cachedCell(Cache cache, String cellKey) {
+        int stripe = stripeOf(cellKey);
+        long generation = cellGenerations.get(stripe);
+        List<Candidate> candidates = cache.get(cellKey, () -> loadCell(cellKey));
+        if (cellGenerations.get(stripe) != generation) {
+            // The cell was invalidated while loading; the candidates may be from before the change
+            cache.evict(cellKey);
+        }
+        return candidates;
+    }
+
+    private static int stripeOf(String cellKey) {
+        return Math.floorMod(cellKey.hashCode(), GENERATION_STRIPES);
+    }
 
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    private List<Candidate> loadCell(String cellKey) {
+        GeoUtils.BoundingBox cell = GeoHash.bounds(cellKey);
+        return vendorRepository.findLocationsWithinBounds(
+                        SEARCHABLE_STATUSES, cell.minLat(), cell.maxLat(), cell.minLng(), cell.maxLng()).stream()
+                .map(location -> new Candidate(location.getId(), location.getLatitude(), location.getLongitude()))
+                .toList();
+    }
+
+    /**
+     * Uncached path: the database applies the status and bounding-box filter and
+     * returns coordinates only, the exact radius check then runs on that small set.
+     */
+    private List<VendorGeoIndex.Hit> findWithinBounds(double lat, double lng, double radiusMeters,
+            GeoUtils.BoundingBox box) {
+        return vendorRepository.findLocationsWithinBounds(
+                        SEARCHABLE_STATUSES, box.minLat(), box.maxLat(), box.minLng(), box.maxLng()).stream()
+                .map(location -> new VendorGeoIndex.Hit(
+                        location.getId(),
+                        GeoUtils.distanceMeters(lat, lng, location.getLatitude(), location.getLongitude())))
+                .filter(hit -> hit.distanceMeters() <= radiusMeters)
+                .sorted(Comparator.comparingDouble(VendorGeoIndex.Hit::distanceMeters))
+                .toList();
+    }
+
+    private List<Vendor> loadInDistanceOrder(List<VendorGeoIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        // Only the vendors inside the radius are loaded
+        Map<Long, Vendor> vendorsById = vendorRepository.findAllById(
+                hits.stream().map(VendorGeoIndex.Hit::vendorId).toList()).stream()
+                .collect(Collectors.toMap(Vendor::getId, Function.identity()));
+
+        return hits.stream()
+                .map(hit -> vendorsById.get(hit.vendorId()))
+                .filter(v -> v != null && isSearchable(v))
+                .toList();
+    }
+
+    private boolean isSearchable(Vendor vendor) {
+        return vendor.isActive() && SEARCHABLE_STATUSES.contains(vendor.getStatus());
+    }
 
-        return R * c;
+    /**
+     * Coordinates of a searchable vendor as cached per geohash cell in {@link #SEARCH_CACHE}.
+     */
+    public record Candidate(long vendorId, double latitude, double longitude) {
     }
 }
@@ -1,13 +1,18 @@
 package com.streetbite.service;
 
 import com.streetbite.dto.vendor.VendorCreateRequest;
+import com.streetbite.dto.vendor.VendorResponse;
+import com.streetbite.dto.vendor.VendorSummaryResponse;
 import com.streetbite.dto.vendor.VendorUpdateRequest;
 import com.streetbite.model.User;
 import com.streetbite.model.Vendor;
 import com.streetbite.model.VendorStatus;
 import com.streetbite.repository.UserRepository;
 import com.streetbite.repository.VendorRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,23 +22,33 @@ import java.util.Optional;
 @Service
 public class VendorService {
 
+    // Vendors that are never listed publicly
+    private static final List<VendorStatus> HIDDEN_STATUSES =
+            List.of(VendorStatus.BANNED, VendorStatus.SUSPENDED, VendorStatus.REJECTED);
+
     private final com.streetbite.repository.ReviewRepository reviewRepository;
     private final com.streetbite.repository.FavoriteRepository favoriteRepository;
     private final VendorRepository vendorRepository;
     private final UserRepository userRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final ImageExternalizationService imageExternalizationService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public VendorService(
             com.streetbite.repository.ReviewRepository reviewRepository,
             com.streetbite.repository.FavoriteRepository favoriteRepository,
             VendorRepository vendorRepository,
             UserRepository userRepository,
-            ApplicationEventPublisher eventPublisher) {
+            ApplicationEventPublisher eventPublisher,
+            ImageExternalizationService imageExternalizationService) {
         this.reviewRepository = reviewRepository;
         this.favoriteRepository = favoriteRepository;
         this.vendorRepository = vendorRepository;
         this.userRepository = userRepository;
         this.eventPublisher = eventPublisher;
+        this.imageExternalizationService = imageExternalizationService;
     }
 
     @Transactional
@@ -45,7 +60,9 @@ public class VendorService {
                     savedVendor.getStatus(),
                     savedVendor.getLatitude(),
                     savedVendor.getLongitude(),
-                    savedVendor.getAddress()
+                    savedVendor.getAddress(),
+                    savedVendor.getStoredLatitude(),
+                    savedVendor.getStoredLongitude()
             ));
         }
         return savedVendor;
@@ -56,13 +73,46 @@ public class VendorService {
     }
 
     public List<Vendor> getActiveVendors() {
-        return vendorRepository.findByIsActiveTrueAndStatusNotIn(
-                java.util.List.of(
-                        com.streetbite.model.VendorStatus.BANNED,
-                        com.streetbite.model.VendorStatus.SUSPENDED,
-                        com.streetbite.model.VendorStatus.REJECTED
-                )
-        );
+        return vendorRepository.findByIsActiveTrueAndStatusNotIn(HIDDEN_STATUSES);
+    }
+
+    /**
+     * Up to size publicly listed vendors with an id greater than afterId, in id order.
+     */
+    @Transactional(readOnly = true)
+    public List<VendorResponse> getActiveVendorsAfter(Long afterId, int size) {
+        return toDetachedResponses(vendorRepository.findByIsActiveTrueAndStatusNotInAndIdGreaterThanOrderByIdAsc(
+                HIDDEN_STATUSES, afterId != null ? afterId : 0L, PageRequest.of(0, size)));
+    }
+
+    /**
+     * Card-sized projections of {@link #getActiveVendorsAfter(Long, int)}.
+     */
+    public List<VendorSummaryResponse> getActiveVendorSummariesAfter(Long afterId, int size) {
+        return vendorRepository.findActiveSummariesAfter(
+                        HIDDEN_STATUSES, afterId != null ? afterId : 0L, PageRequest.of(0, size)).stream()
+                .map(VendorSummaryResponse::from)
+                .toList();
+    }
+
+    /**
+     * Up to size vendors of any status with an id greater than afterId, in id order.
+     */
+    @Transactional(readOnly = true)
+    public List<VendorResponse> getAllVendorsAfter(Long afterId, int size) {
+        return toDetachedResponses(vendorRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId != null ? afterId : 0L, PageRequest.of(0, size)));
+    }
+
+    /**
+     * Maps a chunk of vendors, including their lazy owner and gallery, and then clears the
+     * persistence context. With open-in-view the context lives as long as the request, so a
+     * streamed listing would otherwise keep every vendor it has written.
+     */
+    private List<VendorResponse> toDetachedResponses(List<Vendor> vendors) {
+        List<VendorResponse> responses = vendors.stream().map(VendorResponse::from).toList();
+        entityManager.clear();
+        return responses;
     }
 
     public Optional<Vendor> getVendorById(Long id) {
@@ -105,8 +155,8 @@ public class VendorService {
         vendor.setLongitude(request.getLongitude());
         vendor.setPhone(request.getPhone());
         vendor.setHours(request.getHours());
-        vendor.setBannerImageUrl(request.getBannerImageUrl());
-        vendor.setDisplayImageUrl(request.getDisplayImageUrl());
+        vendor.setBannerImageUrl(imageExternalizationService.externalize(request.getBannerImageUrl()));
+        vendor.setDisplayImageUrl(imageExternalizationService.externalize(request.getDisplayImageUrl()));
         vendor.setSlug(null);
     }
 
@@ -137,10 +187,10 @@ public class VendorService {
             vendor.setHours(updates.getHours());
         }
         if (updates.getBannerImageUrl() != null) {
-            vendor.setBannerImageUrl(updates.getBannerImageUrl());
+            vendor.setBannerImageUrl(imageExternalizationService.externalize(updates.getBannerImageUrl()));
         }
         if (updates.getDisplayImageUrl() != null) {
-            vendor.setDisplayImageUrl(updates.getDisplayImageUrl());
+            vendor.setDisplayImageUrl(imageExternalizationService.externalize(updates.getDisplayImageUrl()));
         }
         if (updates.getStatus() != null) {
             applyStatusChange(vendor, VendorStatus.valueOf(updates.getStatus()));
@@ -167,7 +217,9 @@ public class VendorService {
                     vendor.getStatus(),
                     vendor.getLatitude(),
                     vendor.getLongitude(),
-                    vendor.getAddress()
+                    vendor.getAddress(),
+                    vendor.getStoredLatitude(),
+                    vendor.getStoredLongitude()
             ));
         }
 
@@ -0,0 +1,200 @@
+package com.streetbite.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk recomputation of review_count, rating, average_rating and the rating totals for
+ * every vendor.
+ *
+ * Vendors are walked in id order in chunks. Each chunk runs in its own transaction: it
+ * locks the chunk's vendor rows, aggregates their reviews with one grouped query and
+ * batch-updates only the rows whose stats changed. Holding the row locks keeps incremental
+ * rating updates from slipping in between the aggregate and the write.
+ */
+@Component
+public class VendorStatsRecomputer {
+
+    private static final Logger logger = LoggerFactory.getLogger(VendorStatsRecomputer.class);
+
+    private static final String LOCK_CHUNK_SQL =
+            "SELECT id, review_count, rating_sum, one_star_count, two_star_count, three_star_count, "
+                    + "four_star_count, five_star_count, average_rating FROM vendors "
+                    + "WHERE id > ? ORDER BY id LIMIT ? FOR UPDATE";
+
+    private static final String AGGREGATE_CHUNK_SQL =
+            "SELECT vendor_id, COUNT(*), SUM(rating), "
+                    + "SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), "
+                    + "SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END), "
+                    + "SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), "
+                    + "SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END), "
+                    + "SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END) "
+                    + "FROM reviews WHERE vendor_id BETWEEN ? AND ? AND rating IS NOT NULL "
+                    + "GROUP BY vendor_id";
+
+    private static final String UPDATE_VENDOR_SQL =
+            "UPDATE vendors SET review_count = ?, rating_sum = ?, one_star_count = ?, two_star_count = ?, "
+                    + "three_star_count = ?, four_star_count = ?, five_star_count = ?, rating = ?, average_rating = ? "
+                    + "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    private final Timer duration;
+    private final Counter updatedVendors;
+    private final Counter unchangedVendors;
+    private final AtomicLong totalVendors = new AtomicLong();
+    private final AtomicLong processedVendors = new AtomicLong();
+
+    public VendorStatsRecomputer(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${streetbite.vendor-stats.recompute-chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = Math.max(1, chunkSize);
+
+        this.duration = Timer.builder("streetbite.vendor.stats.recompute.duration")
+                .description("Time taken by a full vendor stats recomputation")
+                .register(meterRegistry);
+        this.updatedVendors = vendorCounter(meterRegistry, "updated");
+        this.unchangedVendors = vendorCounter(meterRegistry, "unchanged");
+        Gauge.builder("streetbite.vendor.stats.recompute.progress", this, VendorStatsRecomputer::progress)
+                .description("Share of vendors processed by the current or last recomputation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Recomputes every vendor's stats and returns how many vendors changed. Synchronized so
+     * two maintenance runs never interleave their progress.
+     */
+    public synchronized int recomputeAll() {
+        Timer.Sample sample = Timer.start();
+        totalVendors.set(countVendors());
+        processedVendors.set(0);
+
+        int changed = 0;
+        long lastId = 0;
+        while (true) {
+            long afterId = lastId;
+            ChunkResult result = transactionTemplate.execute(status -> recomputeChunk(afterId));
+            if (result == null || result.processed() == 0) {
+                break;
+            }
+            changed += result.changed();
+            lastId = result.lastId();
+            processedVendors.addAndGet(result.processed());
+        }
+
+        long nanos = sample.stop(duration);
+        logger.info("Recomputed stats for {} vendors ({} changed) in {} ms",
+                processedVendors.get(), changed, nanos / 1_000_000);
+        return changed;
+    }
+
+    private ChunkResult recomputeChunk(long afterId) {
+        List<VendorRow> vendors = jdbcTemplate.query(LOCK_CHUNK_SQL, (rs, rowNum) -> new VendorRow(
+                rs.getLong(1),
+                new RatingTotals(rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5),
+                        rs.getLong(6), rs.getLong(7), rs.getLong(8)),
+                rs.getObject(9) != null ? rs.getDouble(9) : null), afterId, chunkSize);
+        if (vendors.isEmpty()) {
+            return new ChunkResult(0, 0, afterId);
+        }
+
+        long firstId = vendors.get(0).id();
+        long lastId = vendors.get(vendors.size() - 1).id();
+        Map<Long, RatingTotals> aggregates = new HashMap<>();
+        jdbcTemplate.query(AGGREGATE_CHUNK_SQL, rs -> {
+            aggregates.put(rs.getLong(1), new RatingTotals(rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                    rs.getLong(5), rs.getLong(6), rs.getLong(7), rs.getLong(8)));
+        }, firstId, lastId);
+
+        List<VendorUpdate> updates = new ArrayList<>();
+        for (VendorRow vendor : vendors) {
+            RatingTotals totals = aggregates.getOrDefault(vendor.id(), RatingTotals.EMPTY);
+            double average = totals.reviewCount() > 0 ? (double) totals.ratingSum() / totals.reviewCount() : 0.0;
+            double averageRating = Math.round(average * 10.0) / 10.0;
+            if (!totals.equals(vendor.totals()) || !Objects.equals(vendor.averageRating(), averageRating)) {
+                updates.add(new VendorUpdate(vendor.id(), totals, average, averageRating));
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_VENDOR_SQL, updates, updates.size(), (statement, update) -> {
+                RatingTotals totals = update.totals();
+                statement.setLong(1, totals.reviewCount());
+                statement.setLong(2, totals.ratingSum());
+                statement.setLong(3, totals.oneStarCount());
+                statement.setLong(4, totals.twoStarCount());
+                statement.setLong(5, totals.threeStarCount());
+                statement.setLong(6, totals.fourStarCount());
+                statement.setLong(7, totals.fiveStarCount());
+                statement.setDouble(8, update.rating());
+                statement.setDouble(9, update.averageRating());
+                statement.setLong(10, update.vendorId());
+            });
+            // Delivered after the chunk commits
+            for (VendorUpdate update : updates) {
+                eventPublisher.publishEvent(new RealtimeSyncEvents.VendorStatsUpdatedEvent(
+                        update.vendorId(), (int) update.totals().reviewCount(), update.averageRating()));
+            }
+        }
+
+        updatedVendors.increment(updates.size());
+        unchangedVendors.increment(vendors.size() - updates.size());
+        return new ChunkResult(vendors.size(), updates.size(), lastId);
+    }
+
+    private long countVendors() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vendors", Long.class);
+        return count != null ? count : 0;
+    }
+
+    private double progress() {
+        long total = totalVendors.get();
+        return total > 0 ? Math.min(1.0, (double) processedVendors.get() / total) : 1.0;
+    }
+
+    private static Counter vendorCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("streetbite.vendor.stats.recompute.vendors")
+                .description("Vendors visited by stats recomputation by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record RatingTotals(long reviewCount, long ratingSum, long oneStarCount, long twoStarCount,
+                                long threeStarCount, long fourStarCount, long fiveStarCount) {
+        static final RatingTotals EMPTY = new RatingTotals(0, 0, 0, 0, 0, 0, 0);
+    }
+
+    private record VendorRow(long id, RatingTotals totals, Double averageRating) {
+    }
+
+    private record VendorUpdate(long vendorId, RatingTotals totals, double rating, double averageRating) {
+    }
+
+    private record ChunkResult(int processed, int changed, long lastId) {
+    }
+}
@@ -1,14 +1,12 @@
 package com.streetbite.service;
 
-import com.streetbite.model.Review;
 import com.streetbite.model.Vendor;
 import com.streetbite.repository.ReviewRepository;
 import com.streetbite.repository.VendorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-
-import java.util.List;
-import java.util.Optional;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class VendorStatsService {
@@ -19,37 +17,72 @@ public class VendorStatsService {
     @Autowired
     private VendorRepository vendorRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private VendorStatsRecomputer vendorStatsRecomputer;
+
     /**
-     * Calculate and update vendor statistics based on reviews
-     * This should be called whenever a review is added, updated, or deleted
+     * Counts a new review's rating into the vendor totals with one atomic update
      */
-    public void updateVendorStats(Long vendorId) {
-        Optional<Vendor> vendorOpt = vendorRepository.findById(vendorId);
-        if (vendorOpt.isEmpty()) {
+    @Transactional
+    public void recordRatingAdded(Long vendorId, int rating) {
+        int[] starDeltas = new int[6];
+        starDeltas[rating]++;
+        adjustRatingTotals(vendorId, 1, rating, starDeltas);
+    }
+
+    /**
+     * Removes a deleted review's rating from the vendor totals
+     */
+    @Transactional
+    public void recordRatingRemoved(Long vendorId, int rating) {
+        int[] starDeltas = new int[6];
+        starDeltas[rating]--;
+        adjustRatingTotals(vendorId, -1, -rating, starDeltas);
+    }
+
+    /**
+     * Moves an edited review from its old rating to the new one without changing the count
+     */
+    @Transactional
+    public void recordRatingChanged(Long vendorId, int oldRating, int newRating) {
+        if (oldRating == newRating) {
             return;
         }
+        int[] starDeltas = new int[6];
+        starDeltas[oldRating]--;
+        starDeltas[newRating]++;
+        adjustRatingTotals(vendorId, 0, newRating - oldRating, starDeltas);
+    }
 
-        Vendor vendor = vendorOpt.get();
-        List<Review> reviews = reviewRepository.findByVendorId(vendorId);
-
-        // Calculate review count
-        int reviewCount = reviews.size();
-        vendor.setReviewCount(reviewCount);
-
-        // Calculate average rating
-        if (reviewCount > 0) {
-            double sum = reviews.stream()
-                    .mapToInt(Review::getRating)
-                    .sum();
-            double average = sum / reviewCount;
-            vendor.setAverageRating(Math.round(average * 10.0) / 10.0); // Round to 1 decimal
-            vendor.setRating(average); // Also update the legacy rating field
-        } else {
-            vendor.setAverageRating(0.0);
-            vendor.setRating(0.0);
+    /**
+     * Recalculate one vendor's statistics from its reviews with a single aggregate query.
+     * Reviews go through the incremental record methods; this is for reconciliation.
+     */
+    @Transactional
+    public void updateVendorStats(Long vendorId) {
+        if (vendorRepository.lockForRatingUpdate(vendorId).isEmpty()) {
+            return;
         }
 
-        vendorRepository.save(vendor);
+        ReviewRepository.VendorRatingAggregate aggregate =
+                reviewRepository.aggregateRatingsByVendorId(vendorId).orElse(null);
+        int reviewCount = aggregate != null ? toInt(aggregate.getReviewCount()) : 0;
+        long ratingSum = aggregate != null && aggregate.getRatingSum() != null ? aggregate.getRatingSum() : 0L;
+        double average = reviewCount > 0 ? (double) ratingSum / reviewCount : 0.0;
+        double averageRating = roundRating(average);
+
+        vendorRepository.overwriteRatingTotals(vendorId, reviewCount, ratingSum,
+                aggregate != null ? toInt(aggregate.getOneStarCount()) : 0,
+                aggregate != null ? toInt(aggregate.getTwoStarCount()) : 0,
+                aggregate != null ? toInt(aggregate.getThreeStarCount()) : 0,
+                aggregate != null ? toInt(aggregate.getFourStarCount()) : 0,
+                aggregate != null ? toInt(aggregate.getFiveStarCount()) : 0,
+                average, averageRating);
+        eventPublisher.publishEvent(new RealtimeSyncEvents.VendorStatsUpdatedEvent(
+                vendorId, reviewCount, averageRating));
     }
 
     /**
@@ -67,13 +100,42 @@ public class VendorStatsService {
     }
 
     /**
-     * Update stats for all vendors (useful for initial migration or maintenance)
+     * Update stats for all vendors (useful for initial migration or maintenance).
+     * Runs as chunked set-based updates; see {@link VendorStatsRecomputer}.
      */
-    public void updateAllVendorStats() {
-        List<Vendor> vendors = vendorRepository.findAll();
-        for (Vendor vendor : vendors) {
-            updateVendorStats(vendor.getId());
+    public int updateAllVendorStats() {
+        return vendorStatsRecomputer.recomputeAll();
+    }
+
+    private void adjustRatingTotals(Long vendorId, int countDelta, long sumDelta, int[] starDeltas) {
+        int updated = vendorRepository.adjustRatingTotals(vendorId, countDelta, sumDelta,
+                starDeltas[1], starDeltas[2], starDeltas[3], starDeltas[4], starDeltas[5]);
+        if (updated == 0) {
+            return;
         }
+
+        // The update above holds the row lock, so these totals include every committed change
+        VendorRepository.RatingTotals totals = vendorRepository.findRatingTotalsById(vendorId).orElse(null);
+        if (totals == null) {
+            return;
+        }
+
+        int reviewCount = totals.getReviewCount() != null ? totals.getReviewCount() : 0;
+        long ratingSum = totals.getRatingSum() != null ? totals.getRatingSum() : 0L;
+        double average = reviewCount > 0 ? (double) ratingSum / reviewCount : 0.0;
+        double averageRating = roundRating(average);
+        vendorRepository.updateAverageRating(vendorId, average, averageRating);
+
+        eventPublisher.publishEvent(new RealtimeSyncEvents.VendorStatsUpdatedEvent(
+                vendorId, reviewCount, averageRating));
+    }
+
+    private static double roundRating(double average) {
+        return Math.round(average * 10.0) / 10.0; // Round to 1 decimal
+    }
+
+    private static int toInt(Long value) {
+        return value != null ? value.intValue() : 0;
     }
 
     /**
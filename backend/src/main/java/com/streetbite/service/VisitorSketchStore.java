@@ -0,0 +1,78 @@
+package com.streetbite.service;
+
+import com.streetbite.model.VendorVisitorSketch;
+import com.streetbite.repository.VendorVisitorSketchRepository;
+import com.streetbite.util.HyperLogLog;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-vendor, per-day HyperLogLog sketches of distinct visiting users. Unique visitors
+ * over any range of days come from merging the daily sketches, never from raw events.
+ */
+@Component
+public class VisitorSketchStore {
+
+    private static final String LOCK_SKETCH_SQL =
+            "SELECT registers FROM vendor_visitor_sketches WHERE vendor_id = ? AND sketch_date = ? FOR UPDATE";
+
+    private static final String UPSERT_SKETCH_SQL =
+            "INSERT INTO vendor_visitor_sketches (vendor_id, sketch_date, registers) VALUES (?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE registers = VALUES(registers)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VendorVisitorSketchRepository sketchRepository;
+
+    public VisitorSketchStore(JdbcTemplate jdbcTemplate, VendorVisitorSketchRepository sketchRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sketchRepository = sketchRepository;
+    }
+
+    /**
+     * Adds the users of a batch of just-written events to their vendor's daily sketch.
+     * Runs in the pipeline's write transaction; each touched sketch is locked, merged and
+     * written back once per batch.
+     */
+    void record(List<AnalyticsIngestionPipeline.PendingEvent> events) {
+        Map<SketchKey, HyperLogLog> batchSketches = new HashMap<>();
+        for (AnalyticsIngestionPipeline.PendingEvent event : events) {
+            if (event.userId() == null) {
+                continue;
+            }
+            SketchKey key = new SketchKey(event.vendorId(), event.timestamp().toLocalDate());
+            batchSketches.computeIfAbsent(key, k -> new HyperLogLog()).add(event.userId());
+        }
+
+        for (Map.Entry<SketchKey, HyperLogLog> entry : batchSketches.entrySet()) {
+            SketchKey key = entry.getKey();
+            HyperLogLog sketch = entry.getValue();
+            List<byte[]> stored = jdbcTemplate.query(LOCK_SKETCH_SQL, (rs, rowNum) -> rs.getBytes(1),
+                    key.vendorId(), Date.valueOf(key.day()));
+            if (!stored.isEmpty()) {
+                sketch.merge(HyperLogLog.fromBytes(stored.get(0)));
+            }
+            jdbcTemplate.update(UPSERT_SKETCH_SQL, key.vendorId(), Date.valueOf(key.day()), sketch.toBytes());
+        }
+    }
+
+    /**
+     * Approximate number of distinct users who interacted with the vendor between the two
+     * days, inclusive.
+     */
+    public long countUniqueVisitors(Long vendorId, LocalDate startDate, LocalDate endDate) {
+        HyperLogLog union = new HyperLogLog();
+        for (VendorVisitorSketch sketch : sketchRepository.findByVendorIdAndSketchDateBetween(vendorId, startDate, endDate)) {
+            union.merge(HyperLogLog.fromBytes(sketch.getRegisters()));
+        }
+        return union.estimate();
+    }
+
+    private record SketchKey(Long vendorId, LocalDate day) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.streetbite.service;
+
+import com.streetbite.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Optional write-behind for XP grants. When enabled, grants are merged per user in memory
+ * and each user with pending XP gets one atomic UPDATE per flush interval, however many
+ * grants arrived in between. Pending XP is lost if the process dies before a flush.
+ */
+@Component
+public class XpGrantBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(XpGrantBuffer.class);
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final ConcurrentMap<Long, Grant> pending = new ConcurrentHashMap<>();
+
+    public XpGrantBuffer(
+            UserRepository userRepository,
+            @Value("${streetbite.gamification.xp-buffer.enabled:false}") boolean enabled) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds the grant to the user's pending XP and returns everything now pending for them.
+     */
+    public Grant add(Long userId, Grant grant) {
+        return pending.merge(userId, grant, Grant::plus);
+    }
+
+    /**
+     * XP granted to the user that is not written yet.
+     */
+    public Grant pendingFor(Long userId) {
+        return pending.getOrDefault(userId, Grant.NONE);
+    }
+
+    @Scheduled(fixedDelayString = "${streetbite.gamification.xp-buffer.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        for (Long userId : new ArrayList<>(pending.keySet())) {
+            Grant grant = pending.remove(userId);
+            if (grant == null) {
+                continue;
+            }
+            try {
+                userRepository.applyXpGrant(userId, grant.xp(), grant.spiceXp(), grant.sugarXp(), grant.nightOwlXp());
+            } catch (DataAccessException e) {
+                // Kept for the next flush, merged with anything granted meanwhile
+                pending.merge(userId, grant, Grant::plus);
+                logger.warn("Failed to write pending XP for user {}: {}", userId, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public record Grant(int xp, int spiceXp, int sugarXp, int nightOwlXp) {
+
+        public static final Grant NONE = new Grant(0, 0, 0, 0);
+
+        Grant plus(Grant other) {
+            return new Grant(xp + other.xp, spiceXp + other.spiceXp,
+                    sugarXp + other.sugarXp, nightOwlXp + other.nightOwlXp);
+        }
+    }
+}
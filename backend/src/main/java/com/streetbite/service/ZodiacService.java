@@ -15,10 +15,14 @@ import java.util.Map;
 @Service
 public class ZodiacService {
 
+        private static final int XP_ZODIAC_CHALLENGE = 10;
+
         private final UserRepository userRepository;
+        private final GamificationService gamificationService;
 
-        public ZodiacService(UserRepository userRepository) {
+        public ZodiacService(UserRepository userRepository, GamificationService gamificationService) {
                 this.userRepository = userRepository;
+                this.gamificationService = gamificationService;
         }
 
         private static final Map<String, List<String>> PREDICTIONS = new HashMap<>();
@@ -137,9 +141,7 @@ public class ZodiacService {
         }
 
         public ZodiacChallengeResponse completeChallenge(Long userId) {
-                User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
-                user.setXp((user.getXp() == null ? 0 : user.getXp()) + 10);
-                User updated = userRepository.save(user);
+                User updated = gamificationService.grantXp(userId, XP_ZODIAC_CHALLENGE);
                 return new ZodiacChallengeResponse("Challenge completed", updated.getXp());
         }
 }
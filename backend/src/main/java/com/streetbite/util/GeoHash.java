@@ -0,0 +1,146 @@
+package com.streetbite.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Minimal base32 geohash codec used to bucket vendor coordinates into grid cells.
+ */
+public final class GeoHash {
+
+    private static final String BASE32_CHARS = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final char[] BASE32 = BASE32_CHARS.toCharArray();
+    private static final int[] BITS = {16, 8, 4, 2, 1};
+
+    private GeoHash() {
+        // Utility class
+    }
+
+    public static String encode(double lat, double lng, int precision) {
+        double minLat = -90;
+        double maxLat = 90;
+        double minLng = -180;
+        double maxLng = 180;
+
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (lng >= mid) {
+                    ch |= BITS[bit];
+                    minLng = mid;
+                } else {
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) {
+                    ch |= BITS[bit];
+                    minLat = mid;
+                } else {
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (bit < 4) {
+                bit++;
+            } else {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * The rectangle covered by a geohash cell.
+     */
+    public static GeoUtils.BoundingBox bounds(String hash) {
+        double minLat = -90;
+        double maxLat = 90;
+        double minLng = -180;
+        double maxLng = 180;
+        boolean evenBit = true;
+
+        for (int i = 0; i < hash.length(); i++) {
+            int cd = BASE32_CHARS.indexOf(hash.charAt(i));
+            if (cd < 0) {
+                throw new IllegalArgumentException("Invalid geohash: " + hash);
+            }
+            for (int mask : BITS) {
+                if (evenBit) {
+                    double mid = (minLng + maxLng) / 2;
+                    if ((cd & mask) != 0) {
+                        minLng = mid;
+                    } else {
+                        maxLng = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if ((cd & mask) != 0) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new GeoUtils.BoundingBox(minLat, minLng, maxLat, maxLng);
+    }
+
+    public static double cellHeightDegrees(int precision) {
+        int latBits = (5 * precision) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    public static double cellWidthDegrees(int precision) {
+        int lngBits = (5 * precision + 1) / 2;
+        return 360.0 / (1L << lngBits);
+    }
+
+    /**
+     * Every cell at the given precision that intersects the rectangle, or null when
+     * more than maxCells would be needed (callers should then scan everything).
+     */
+    public static Set<String> coveringCells(GeoUtils.BoundingBox box, int precision, int maxCells) {
+        double cellHeight = cellHeightDegrees(precision);
+        double cellWidth = cellWidthDegrees(precision);
+
+        double minLat = clamp(box.minLat(), -90, 90);
+        double maxLat = clamp(box.maxLat(), -90, 90);
+        double minLng = clamp(box.minLng(), -180, 180);
+        double maxLng = clamp(box.maxLng(), -180, 180);
+        if (minLat > maxLat || minLng > maxLng) {
+            return Set.of();
+        }
+
+        long firstRow = (long) Math.floor((minLat + 90) / cellHeight);
+        long firstCol = (long) Math.floor((minLng + 180) / cellWidth);
+        long rows = (long) Math.floor((maxLat + 90) / cellHeight) - firstRow + 1;
+        long cols = (long) Math.floor((maxLng + 180) / cellWidth) - firstCol + 1;
+        if (rows * cols > maxCells) {
+            return null;
+        }
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (long row = 0; row < rows; row++) {
+            double lat = Math.min((firstRow + row + 0.5) * cellHeight - 90, 90 - cellHeight / 2);
+            for (long col = 0; col < cols; col++) {
+                double lng = Math.min((firstCol + col + 0.5) * cellWidth - 180, 180 - cellWidth / 2);
+                cells.add(encode(lat, lng, precision));
+            }
+        }
+        return cells;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,67 @@
+package com.streetbite.util;
+
+/**
+ * Spherical-earth helpers shared by the vendor search paths.
+ */
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_METERS = 6371000;
+
+    private GeoUtils() {
+        // Utility class
+    }
+
+    /**
+     * Great-circle distance between two points using the Haversine formula
+     */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lng2 - lng1);
+
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                        Math.sin(dLon / 2) * Math.sin(dLon / 2);
+
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+
+        return EARTH_RADIUS_METERS * c;
+    }
+
+    /**
+     * Smallest lat/lng rectangle containing every point within radiusMeters of the centre.
+     * Falls back to the full longitude range near the poles or across the antimeridian.
+     */
+    public static BoundingBox boundingBox(double lat, double lng, double radiusMeters) {
+        double angular = radiusMeters / EARTH_RADIUS_METERS;
+        double latRad = Math.toRadians(lat);
+
+        double minLat = latRad - angular;
+        double maxLat = latRad + angular;
+        double minLng = -Math.PI;
+        double maxLng = Math.PI;
+
+        if (minLat > -Math.PI / 2 && maxLat < Math.PI / 2) {
+            double ratio = Math.sin(angular) / Math.cos(latRad);
+            if (ratio < 1) {
+                double lngRad = Math.toRadians(lng);
+                double deltaLng = Math.asin(ratio);
+                if (lngRad - deltaLng >= -Math.PI && lngRad + deltaLng <= Math.PI) {
+                    minLng = lngRad - deltaLng;
+                    maxLng = lngRad + deltaLng;
+                }
+            }
+        } else {
+            minLat = Math.max(minLat, -Math.PI / 2);
+            maxLat = Math.min(maxLat, Math.PI / 2);
+        }
+
+        return new BoundingBox(
+                Math.toDegrees(minLat),
+                Math.toDegrees(minLng),
+                Math.toDegrees(maxLat),
+                Math.toDegrees(maxLng));
+    }
+
+    public record BoundingBox(double minLat, double minLng, double maxLat, double maxLng) {
+    }
+}
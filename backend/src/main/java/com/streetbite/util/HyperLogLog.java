@@ -0,0 +1,104 @@
+package com.streetbite.util;
+
+/**
+ * HyperLogLog distinct-count sketch over long values with 2^11 registers, giving about
+ * 2.3% standard error.
+ *
+ * Sketches merge by taking the register-wise maximum, so a sketch per day can be combined
+ * into weekly or monthly counts. {@link #toBytes()} packs the 6-bit registers into 1536 bytes.
+ */
+public final class HyperLogLog {
+
+    private static final int PRECISION = 11;
+    private static final int REGISTER_COUNT = 1 << PRECISION;
+    private static final int REGISTER_BITS = 6;
+    public static final int SERIALIZED_SIZE = REGISTER_COUNT * REGISTER_BITS / Byte.SIZE;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTER_COUNT];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public void add(long value) {
+        long hash = mix(value);
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        // The sentinel bit caps the rank at 64 - PRECISION + 1
+        long remaining = (hash << PRECISION) | (1L << (PRECISION - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+        // Small cardinalities are counted far more accurately from the empty registers
+        if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0) {
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[SERIALIZED_SIZE];
+        // Every 4 registers fill 3 bytes
+        for (int i = 0, b = 0; i < REGISTER_COUNT; i += 4, b += 3) {
+            int packed = registers[i] << 18 | registers[i + 1] << 12 | registers[i + 2] << 6 | registers[i + 3];
+            bytes[b] = (byte) (packed >>> 16);
+            bytes[b + 1] = (byte) (packed >>> 8);
+            bytes[b + 2] = (byte) packed;
+        }
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != SERIALIZED_SIZE) {
+            throw new IllegalArgumentException("Expected " + SERIALIZED_SIZE + " bytes of sketch registers");
+        }
+
+        byte[] registers = new byte[REGISTER_COUNT];
+        for (int i = 0, b = 0; i < REGISTER_COUNT; i += 4, b += 3) {
+            int packed = (bytes[b] & 0xFF) << 16 | (bytes[b + 1] & 0xFF) << 8 | (bytes[b + 2] & 0xFF);
+            registers[i] = (byte) (packed >>> 18 & 0x3F);
+            registers[i + 1] = (byte) (packed >>> 12 & 0x3F);
+            registers[i + 2] = (byte) (packed >>> 6 & 0x3F);
+            registers[i + 3] = (byte) (packed & 0x3F);
+        }
+        return new HyperLogLog(registers);
+    }
+
+    // Murmur3 finalizer, so sequential ids spread over all registers
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
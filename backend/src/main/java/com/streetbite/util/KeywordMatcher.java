@@ -0,0 +1,130 @@
+package com.streetbite.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Aho-Corasick matcher over up to 32 keyword categories.
+ *
+ * The automaton is compiled into a dense ASCII transition table, so classifying text is
+ * one table lookup per character and reports every category with a keyword occurring in
+ * the text as a bitmask (bit i for categories.get(i)). Matching is case-insensitive.
+ */
+public final class KeywordMatcher {
+
+    private static final int ALPHABET = 128;
+
+    // transitions[state * ALPHABET + c] is the next state after reading c
+    private final int[] transitions;
+    private final int[] outputs;
+
+    private KeywordMatcher(int[] transitions, int[] outputs) {
+        this.transitions = transitions;
+        this.outputs = outputs;
+    }
+
+    public static KeywordMatcher compile(List<? extends Collection<String>> categories) {
+        if (categories.size() > Integer.SIZE) {
+            throw new IllegalArgumentException("At most " + Integer.SIZE + " keyword categories are supported");
+        }
+
+        // 1. Trie of all keywords; -1 marks a missing edge
+        List<int[]> edges = new ArrayList<>();
+        List<Integer> masks = new ArrayList<>();
+        edges.add(newEdges());
+        masks.add(0);
+
+        for (int category = 0; category < categories.size(); category++) {
+            for (String keyword : categories.get(category)) {
+                if (keyword.isEmpty()) {
+                    throw new IllegalArgumentException("Keywords must not be empty");
+                }
+                int state = 0;
+                for (int i = 0; i < keyword.length(); i++) {
+                    int c = Character.toLowerCase(keyword.charAt(i));
+                    if (c >= ALPHABET) {
+                        throw new IllegalArgumentException("Keywords must be ASCII: " + keyword);
+                    }
+                    if (edges.get(state)[c] < 0) {
+                        edges.get(state)[c] = edges.size();
+                        edges.add(newEdges());
+                        masks.add(0);
+                    }
+                    state = edges.get(state)[c];
+                }
+                masks.set(state, masks.get(state) | (1 << category));
+            }
+        }
+
+        // 2. Breadth-first failure links, folded into a complete transition table
+        int stateCount = edges.size();
+        int[] transitions = new int[stateCount * ALPHABET];
+        int[] outputs = new int[stateCount];
+        int[] failure = new int[stateCount];
+        Deque<Integer> queue = new ArrayDeque<>();
+
+        for (int c = 0; c < ALPHABET; c++) {
+            int child = edges.get(0)[c];
+            if (child > 0) {
+                transitions[c] = child;
+                failure[child] = 0;
+                queue.add(child);
+            }
+        }
+        outputs[0] = masks.get(0);
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = masks.get(state) | outputs[failure[state]];
+            for (int c = 0; c < ALPHABET; c++) {
+                int child = edges.get(state)[c];
+                int fallback = transitions[failure[state] * ALPHABET + c];
+                if (child > 0) {
+                    transitions[state * ALPHABET + c] = child;
+                    failure[child] = fallback;
+                    queue.add(child);
+                } else {
+                    transitions[state * ALPHABET + c] = fallback;
+                }
+            }
+        }
+
+        return new KeywordMatcher(transitions, outputs);
+    }
+
+    /**
+     * Categories matched by the texts read as one string joined by single spaces,
+     * without building that string. Null texts read as empty.
+     */
+    public int match(String... texts) {
+        int state = 0;
+        int mask = 0;
+        for (int t = 0; t < texts.length; t++) {
+            if (t > 0) {
+                state = transitions[state * ALPHABET + ' '];
+                mask |= outputs[state];
+            }
+            String text = texts[t];
+            if (text == null) {
+                continue;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                int c = Character.toLowerCase(text.charAt(i));
+                // No keyword contains non-ASCII characters, so they always restart matching
+                state = c < ALPHABET ? transitions[state * ALPHABET + c] : 0;
+                mask |= outputs[state];
+            }
+        }
+        return mask;
+    }
+
+    private static int[] newEdges() {
+        int[] edges = new int[ALPHABET];
+        Arrays.fill(edges, -1);
+        return edges;
+    }
+}
@@ -0,0 +1,198 @@
+package com.streetbite.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Leaderboard of ids ordered by score, highest first, with ties broken by the lower id.
+ *
+ * Backed by a treap whose nodes carry their subtree size, so updating a score, the rank
+ * of an id and the number of scores above a value all take O(log n), and the top n take
+ * O(log n + n). Not thread-safe; callers synchronize.
+ */
+public final class RankedBoard {
+
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    /**
+     * Sets the score of the id, adding it if it is not on the board yet.
+     */
+    public void put(long id, int score) {
+        Node existing = nodes.get(id);
+        if (existing != null) {
+            if (existing.score == score) {
+                return;
+            }
+            remove(id);
+        }
+
+        Node node = new Node(id, score, random.nextInt());
+        nodes.put(id, node);
+        Node[] parts = split(root, score, id);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    public boolean remove(long id) {
+        Node node = nodes.remove(id);
+        if (node == null) {
+            return false;
+        }
+        Node[] before = split(root, node.score, id);
+        // The node is the first one at or after its own key
+        Node[] rest = splitFirst(before[1]);
+        root = merge(before[0], rest[1]);
+        return true;
+    }
+
+    public Integer scoreOf(long id) {
+        Node node = nodes.get(id);
+        return node != null ? node.score : null;
+    }
+
+    /**
+     * 1-based position of the id, or 0 when it is not on the board.
+     */
+    public int rankOf(long id) {
+        Node node = nodes.get(id);
+        return node != null ? countBefore(node.score, id) + 1 : 0;
+    }
+
+    /**
+     * Number of ids with a score strictly greater than the given one.
+     */
+    public int countAbove(int score) {
+        return countBefore(score, Long.MIN_VALUE);
+    }
+
+    /**
+     * Up to limit entries, highest score first.
+     */
+    public List<Entry> top(int limit) {
+        List<Entry> entries = new ArrayList<>(Math.min(Math.max(limit, 0), size()));
+        Deque<Node> path = new ArrayDeque<>();
+        Node current = root;
+        while (entries.size() < limit && (current != null || !path.isEmpty())) {
+            while (current != null) {
+                path.push(current);
+                current = current.left;
+            }
+            Node node = path.pop();
+            entries.add(new Entry(node.id, node.score));
+            current = node.right;
+        }
+        return entries;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public void clear() {
+        nodes.clear();
+        root = null;
+    }
+
+    // Nodes ordered before (score, id): a higher score, or the same score and a lower id
+    private int countBefore(int score, long id) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (precedes(node.score, node.id, score, id)) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    // Splits into the nodes ordered before (score, id) and the rest
+    private static Node[] split(Node node, int score, long id) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (precedes(node.score, node.id, score, id)) {
+            Node[] parts = split(node.right, score, id);
+            node.right = parts[0];
+            node.update();
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, score, id);
+        node.left = parts[1];
+        node.update();
+        return new Node[]{parts[0], node};
+    }
+
+    // Splits off the first node in order
+    private static Node[] splitFirst(Node node) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (node.left == null) {
+            Node rest = node.right;
+            node.right = null;
+            node.update();
+            return new Node[]{node, rest};
+        }
+        Node[] parts = splitFirst(node.left);
+        node.left = parts[1];
+        node.update();
+        return new Node[]{parts[0], node};
+    }
+
+    // Every node of left is ordered before every node of right
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static boolean precedes(int score, long id, int otherScore, long otherId) {
+        return score > otherScore || (score == otherScore && id < otherId);
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    public record Entry(long id, int score) {
+    }
+
+    private static final class Node {
+        private final long id;
+        private final int score;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(long id, int score, int priority) {
+            this.id = id;
+            this.score = score;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = RankedBoard.size(left) + RankedBoard.size(right) + 1;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- Composite index backing the nearby-vendor bounding-box query:
+-- is_active = 1 AND status IN (...) AND latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ?
+-- Fresh databases get the same index from the JPA mapping once Hibernate creates the table.
+SET @dbname = DATABASE();
+
+SET @preparedStatement = (SELECT IF(
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'vendors'
+  ) AND NOT EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'vendors'
+      AND INDEX_NAME = 'idx_vendors_geo_search'
+  ),
+  'CREATE INDEX idx_vendors_geo_search ON vendors (is_active, status, latitude, longitude)',
+  'SELECT 1'
+));
+PREPARE createIndexIfNotExists FROM @preparedStatement;
+EXECUTE createIndexIfNotExists;
+DEALLOCATE PREPARE createIndexIfNotExists;
@@ -0,0 +1,72 @@
+-- Composite index backing every analytics_events query:
+-- vendor_id = ? AND event_type = ? AND timestamp >= ?
+-- Fresh databases get the same index from the JPA mapping once Hibernate creates the table.
+SET @dbname = DATABASE();
+
+SET @preparedStatement = (SELECT IF(
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'analytics_events'
+  ) AND NOT EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'analytics_events'
+      AND INDEX_NAME = 'idx_analytics_events_vendor_type_time'
+  ),
+  'CREATE INDEX idx_analytics_events_vendor_type_time ON analytics_events (vendor_id, event_type, timestamp)',
+  'SELECT 1'
+));
+PREPARE createIndexIfNotExists FROM @preparedStatement;
+EXECUTE createIndexIfNotExists;
+DEALLOCATE PREPARE createIndexIfNotExists;
+
+-- Monthly range partitions on timestamp, so AnalyticsPartitionMaintenance can drop whole
+-- months past retention instead of deleting rows. MySQL requires the partitioning column
+-- in every unique key, so the primary key becomes (id, timestamp).
+SET @isUnpartitioned = (
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'analytics_events'
+  ) AND NOT EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.PARTITIONS
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'analytics_events'
+      AND PARTITION_NAME IS NOT NULL
+  )
+);
+
+SET @preparedStatement = (SELECT IF(
+  @isUnpartitioned,
+  'ALTER TABLE analytics_events DROP PRIMARY KEY, ADD PRIMARY KEY (id, timestamp)',
+  'SELECT 1'
+));
+PREPARE widenPrimaryKey FROM @preparedStatement;
+EXECUTE widenPrimaryKey;
+DEALLOCATE PREPARE widenPrimaryKey;
+
+-- p_history holds everything before the current month; later months are added ahead of
+-- time by splitting p_future.
+SET @currentMonth = DATE_FORMAT(CURRENT_DATE, '%Y-%m-01');
+SET @nextMonth = DATE_ADD(@currentMonth, INTERVAL 1 MONTH);
+SET @monthAfterNext = DATE_ADD(@currentMonth, INTERVAL 2 MONTH);
+
+SET @preparedStatement = (SELECT IF(
+  @isUnpartitioned,
+  CONCAT(
+    'ALTER TABLE analytics_events PARTITION BY RANGE (TO_DAYS(timestamp)) (',
+    'PARTITION p_history VALUES LESS THAN (', TO_DAYS(@currentMonth), '), ',
+    'PARTITION p', DATE_FORMAT(@currentMonth, '%Y%m'), ' VALUES LESS THAN (', TO_DAYS(@nextMonth), '), ',
+    'PARTITION p', DATE_FORMAT(@nextMonth, '%Y%m'), ' VALUES LESS THAN (', TO_DAYS(@monthAfterNext), '), ',
+    'PARTITION p_future VALUES LESS THAN MAXVALUE)'
+  ),
+  'SELECT 1'
+));
+PREPARE partitionByMonth FROM @preparedStatement;
+EXECUTE partitionByMonth;
+DEALLOCATE PREPARE partitionByMonth;
@@ -0,0 +1,171 @@
+-- Running rating totals maintained incrementally by VendorStatsService.
+-- Adds the columns to legacy databases, then backfills them once from the existing reviews.
+SET @dbname = DATABASE();
+
+-- vendors.rating_sum
+SET @preparedStatement = (SELECT IF(
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'vendors'
+  ) AND NOT EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'vendors'
+      AND COLUMN_NAME = 'rating_sum'
+  ),
+  'ALTER TABLE vendors ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0',
+  'SELECT 1'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
+
+-- vendors.one_star_count
+SET @preparedStatement = (SELECT IF(
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'vendors'
+  ) AND NOT EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'vendors'
+      AND COLUMN_NAME = 'one_star_count'
+  ),
+  'ALTER TABLE vendors ADD COLUMN one_star_count INT NOT NULL DEFAULT 0',
+  'SELECT 1'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
+
+-- vendors.two_star_count
+SET @preparedStatement = (SELECT IF(
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'vendors'
+  ) AND NOT EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'vendors'
+      AND COLUMN_NAME = 'two_star_count'
+  ),
+  'ALTER TABLE vendors ADD COLUMN two_star_count INT NOT NULL DEFAULT 0',
+  'SELECT 1'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
+
+-- vendors.three_star_count
+SET @preparedStatement = (SELECT IF(
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'vendors'
+  ) AND NOT EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'vendors'
+      AND COLUMN_NAME = 'three_star_count'
+  ),
+  'ALTER TABLE vendors ADD COLUMN three_star_count INT NOT NULL DEFAULT 0',
+  'SELECT 1'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
+
+-- vendors.four_star_count
+SET @preparedStatement = (SELECT IF(
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'vendors'
+  ) AND NOT EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'vendors'
+      AND COLUMN_NAME = 'four_star_count'
+  ),
+  'ALTER TABLE vendors ADD COLUMN four_star_count INT NOT NULL DEFAULT 0',
+  'SELECT 1'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
+
+-- vendors.five_star_count
+SET @preparedStatement = (SELECT IF(
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'vendors'
+  ) AND NOT EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'vendors'
+      AND COLUMN_NAME = 'five_star_count'
+  ),
+  'ALTER TABLE vendors ADD COLUMN five_star_count INT NOT NULL DEFAULT 0',
+  'SELECT 1'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
+
+-- Backfill totals, review_count and averages from reviews
+SET @preparedStatement = (SELECT IF(
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'vendors'
+  ) AND EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'reviews'
+  ),
+  'UPDATE vendors v
+   JOIN (
+     SELECT vendor_id,
+            COUNT(*) AS review_count,
+            SUM(rating) AS rating_sum,
+            SUM(rating = 1) AS one_star_count,
+            SUM(rating = 2) AS two_star_count,
+            SUM(rating = 3) AS three_star_count,
+            SUM(rating = 4) AS four_star_count,
+            SUM(rating = 5) AS five_star_count
+     FROM reviews
+     WHERE rating IS NOT NULL
+     GROUP BY vendor_id
+   ) r ON r.vendor_id = v.id
+   SET v.review_count = r.review_count,
+       v.rating_sum = r.rating_sum,
+       v.one_star_count = r.one_star_count,
+       v.two_star_count = r.two_star_count,
+       v.three_star_count = r.three_star_count,
+       v.four_star_count = r.four_star_count,
+       v.five_star_count = r.five_star_count,
+       v.rating = r.rating_sum / r.review_count,
+       v.average_rating = ROUND(r.rating_sum / r.review_count, 1)',
+  'SELECT 1'
+));
+PREPARE backfillIfPresent FROM @preparedStatement;
+EXECUTE backfillIfPresent;
+DEALLOCATE PREPARE backfillIfPresent;
@@ -0,0 +1,45 @@
+-- Composite indexes backing the keyset-paginated review listing:
+-- vendor_id = ? ORDER BY created_at DESC, id DESC (newest) and
+-- vendor_id = ? ORDER BY rating, created_at DESC, id DESC (highest / lowest).
+-- Fresh databases get the same indexes from the JPA mapping once Hibernate creates the table.
+SET @dbname = DATABASE();
+
+SET @preparedStatement = (SELECT IF(
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'reviews'
+  ) AND NOT EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'reviews'
+      AND INDEX_NAME = 'idx_reviews_vendor_created'
+  ),
+  'CREATE INDEX idx_reviews_vendor_created ON reviews (vendor_id, created_at, id)',
+  'SELECT 1'
+));
+PREPARE createIndexIfNotExists FROM @preparedStatement;
+EXECUTE createIndexIfNotExists;
+DEALLOCATE PREPARE createIndexIfNotExists;
+
+SET @preparedStatement = (SELECT IF(
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'reviews'
+  ) AND NOT EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'reviews'
+      AND INDEX_NAME = 'idx_reviews_vendor_rating_created'
+  ),
+  'CREATE INDEX idx_reviews_vendor_rating_created ON reviews (vendor_id, rating, created_at, id)',
+  'SELECT 1'
+));
+PREPARE createIndexIfNotExists FROM @preparedStatement;
+EXECUTE createIndexIfNotExists;
+DEALLOCATE PREPARE createIndexIfNotExists;
@@ -0,0 +1,89 @@
+-- Composite indexes backing the database leaderboard mode:
+-- role = 'USER' AND is_active = 1 ORDER BY <xp column> DESC LIMIT 50 for each board, and
+-- COUNT(*) of users ahead of a given xp for rank lookups.
+-- Fresh databases get the same indexes from the JPA mapping once Hibernate creates the table.
+SET @dbname = DATABASE();
+
+-- users.xp
+SET @preparedStatement = (SELECT IF(
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'users'
+  ) AND NOT EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'users'
+      AND INDEX_NAME = 'idx_users_leaderboard_xp'
+  ),
+  'CREATE INDEX idx_users_leaderboard_xp ON users (role, is_active, xp)',
+  'SELECT 1'
+));
+PREPARE createIndexIfNotExists FROM @preparedStatement;
+EXECUTE createIndexIfNotExists;
+DEALLOCATE PREPARE createIndexIfNotExists;
+
+-- users.spice_xp
+SET @preparedStatement = (SELECT IF(
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'users'
+  ) AND NOT EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'users'
+      AND INDEX_NAME = 'idx_users_leaderboard_spice_xp'
+  ),
+  'CREATE INDEX idx_users_leaderboard_spice_xp ON users (role, is_active, spice_xp)',
+  'SELECT 1'
+));
+PREPARE createIndexIfNotExists FROM @preparedStatement;
+EXECUTE createIndexIfNotExists;
+DEALLOCATE PREPARE createIndexIfNotExists;
+
+-- users.sugar_xp
+SET @preparedStatement = (SELECT IF(
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'users'
+  ) AND NOT EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'users'
+      AND INDEX_NAME = 'idx_users_leaderboard_sugar_xp'
+  ),
+  'CREATE INDEX idx_users_leaderboard_sugar_xp ON users (role, is_active, sugar_xp)',
+  'SELECT 1'
+));
+PREPARE createIndexIfNotExists FROM @preparedStatement;
+EXECUTE createIndexIfNotExists;
+DEALLOCATE PREPARE createIndexIfNotExists;
+
+-- users.night_owl_xp
+SET @preparedStatement = (SELECT IF(
+  EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'users'
+  ) AND NOT EXISTS(
+    SELECT 1
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname
+      AND TABLE_NAME = 'users'
+      AND INDEX_NAME = 'idx_users_leaderboard_night_owl_xp'
+  ),
+  'CREATE INDEX idx_users_leaderboard_night_owl_xp ON users (role, is_active, night_owl_xp)',
+  'SELECT 1'
+));
+PREPARE createIndexIfNotExists FROM @preparedStatement;
+EXECUTE createIndexIfNotExists;
+DEALLOCATE PREPARE createIndexIfNotExists;
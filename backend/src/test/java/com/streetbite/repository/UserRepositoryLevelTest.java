@@ -0,0 +1,64 @@
+package com.streetbite.repository;
+
+import com.streetbite.service.GamificationService;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the level expression of the XP grant UPDATEs against an in-memory H2 database and
+ * checks it against GamificationService.calculateLevel.
+ */
+class UserRepositoryLevelTest {
+
+    private final GamificationService gamificationService = new GamificationService(null, null, null, null);
+
+    @Test
+    void levelAfterGrantMatchesCalculateLevel() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:level_after_grant");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, xp INT, level INT)");
+
+            int[] startingXp = {0, 1, 99, 100, 299, 300, 599, 600, 4_950, 5_000, 123_456};
+            int[] deltas = {0, 1, -1, 50, -200, 1_000};
+            for (int xp : startingXp) {
+                for (int delta : deltas) {
+                    statement.executeUpdate("DELETE FROM users");
+                    statement.executeUpdate("INSERT INTO users (id, xp, level) VALUES (1, " + xp + ", 0)");
+                    statement.executeUpdate("UPDATE users SET "
+                            + UserRepository.LEVEL_AFTER_GRANT.replace(":xpDelta", "(" + delta + ")")
+                            + " WHERE id = 1");
+
+                    try (ResultSet rs = statement.executeQuery("SELECT level FROM users WHERE id = 1")) {
+                        rs.next();
+                        assertThat(rs.getInt(1))
+                                .as("level after granting %d XP to %d", delta, xp)
+                                .isEqualTo(gamificationService.calculateLevel(xp + delta));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void levelAfterGrantTreatsMissingXpAsZero() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:level_after_grant_null");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, xp INT, level INT)");
+            statement.executeUpdate("INSERT INTO users (id, xp, level) VALUES (1, NULL, 0)");
+            statement.executeUpdate("UPDATE users SET "
+                    + UserRepository.LEVEL_AFTER_GRANT.replace(":xpDelta", "(300)") + " WHERE id = 1");
+
+            try (ResultSet rs = statement.executeQuery("SELECT level FROM users WHERE id = 1")) {
+                rs.next();
+                assertThat(rs.getInt(1)).isEqualTo(gamificationService.calculateLevel(300));
+            }
+        }
+    }
+}
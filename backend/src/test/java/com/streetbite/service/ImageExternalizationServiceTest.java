@@ -0,0 +1,83 @@
+package com.streetbite.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImageExternalizationServiceTest {
+
+    private static final byte[] IMAGE_BYTES = "png-bytes".getBytes(StandardCharsets.US_ASCII);
+    private static final String IMAGE_BASE64 = "cG5nLWJ5dGVz";
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Test
+    void storesInlineImageWithMediaTypeParameters() {
+        when(fileStorageService.storeImageBytes(IMAGE_BYTES, "image/png")).thenReturn("/api/files/download/a.png");
+
+        String url = enabledService().externalize("data:image/PNG; charset=utf-8;base64," + IMAGE_BASE64);
+
+        assertThat(url).isEqualTo("/api/files/download/a.png");
+    }
+
+    @Test
+    void acceptsUppercasePrefix() {
+        when(fileStorageService.storeImageBytes(IMAGE_BYTES, "image/jpeg")).thenReturn("/api/files/download/a.jpg");
+
+        String url = enabledService().externalize("DATA:IMAGE/JPEG;base64," + IMAGE_BASE64);
+
+        assertThat(url).isEqualTo("/api/files/download/a.jpg");
+    }
+
+    @Test
+    void rejectsBadBase64() {
+        ImageExternalizationService service = enabledService();
+
+        assertThatThrownBy(() -> service.externalize("data:image/png;base64,abc=d"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid inline image data");
+        assertThatThrownBy(() -> service.externalize("data:image/png;base64,@@@!!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid inline image data");
+        assertThatThrownBy(() -> service.externalize("data:image/png," + IMAGE_BASE64))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Inline images must be base64 encoded");
+        verifyNoInteractions(fileStorageService);
+    }
+
+    @Test
+    void rejectsUnsupportedImageType() {
+        when(fileStorageService.storeImageBytes(any(), anyString()))
+                .thenThrow(new IllegalArgumentException("Only image uploads are allowed"));
+
+        assertThatThrownBy(() -> enabledService().externalize("data:image/svg+xml;base64," + IMAGE_BASE64))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Only image uploads are allowed");
+    }
+
+    @Test
+    void leavesOtherValuesAndDisabledServiceAlone() {
+        String inline = "data:image/png;base64," + IMAGE_BASE64;
+
+        assertThat(enabledService().externalize("https://cdn.example.com/a.png")).isEqualTo("https://cdn.example.com/a.png");
+        assertThat(enabledService().externalize(null)).isNull();
+        assertThat(new ImageExternalizationService(fileStorageService, false).externalize(inline)).isEqualTo(inline);
+        verifyNoInteractions(fileStorageService);
+    }
+
+    private ImageExternalizationService enabledService() {
+        return new ImageExternalizationService(fileStorageService, true);
+    }
+}
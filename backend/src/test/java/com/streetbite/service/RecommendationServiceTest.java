@@ -0,0 +1,189 @@
+package com.streetbite.service;
+
+import com.streetbite.dto.recommend.RecommendRequest;
+import com.streetbite.dto.recommend.RecommendResponse;
+import com.streetbite.repository.MenuItemRepository;
+import com.streetbite.repository.VendorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationServiceTest {
+
+    @Mock
+    private VendorRepository vendorRepository;
+
+    @Mock
+    private MenuItemRepository menuItemRepository;
+
+    private RecommendationFeatureStore featureStore;
+    private ConcurrentMapCacheManager cacheManager;
+    private RecommendationService recommendationService;
+
+    @BeforeEach
+    void setUp() {
+        when(vendorRepository.findCardsByStatusNotIn(any())).thenReturn(List.of(
+                new Card(1L, "Chaat Corner", "Street Food", 4.6, 25),
+                new Card(2L, "Fire Wok", "Chinese", 3.2, 2),
+                new Card(3L, "Empty Cart", "Chinese", 5.0, 50)));
+        when(menuItemRepository.findAvailableItemFeatures()).thenReturn(List.of(
+                new Item(10L, 1L, "Pani Puri", "Classic chaat", "Snacks", "40"),
+                new Item(11L, 1L, "Paneer Roll", "Mild and creamy", "Rolls", "90"),
+                new Item(20L, 2L, "Schezwan Noodles", "Extra spicy", "Mains", "150"),
+                new Item(21L, 2L, "Chilli Potato", "Hot and crispy", "Starters", "120")));
+
+        featureStore = new RecommendationFeatureStore(vendorRepository, menuItemRepository);
+        cacheManager = new ConcurrentMapCacheManager(RecommendationService.RECOMMENDATION_CACHE);
+        recommendationService = new RecommendationService(featureStore, cacheManager, new SimpleMeterRegistry(), 5000);
+    }
+
+    @Test
+    void scoresVendorsFromPrecomputedFeatures() {
+        RecommendRequest request = new RecommendRequest();
+        request.setCuisine("chinese");
+        request.setSpiceLevel("spicy");
+        request.setBudget("medium");
+
+        List<RecommendResponse> results = recommendationService.recommend(request);
+
+        // Fire Wok: cuisine 30 + budget 10 + spice 8 + rating 5
+        assertThat(results).extracting(RecommendResponse::getVendorId).containsExactly(2L, 1L);
+        assertThat(results.get(0).getMatchScore()).isEqualTo(53);
+        assertThat(results.get(0).getTopDishes()).extracting(RecommendResponse.RecommendedDish::getName)
+                .containsExactly("Schezwan Noodles", "Chilli Potato");
+    }
+
+    @Test
+    void vendorsWithoutAvailableItemsAreNeverRecommended() {
+        List<RecommendResponse> results = recommendationService.recommend(new RecommendRequest());
+
+        assertThat(results).extracting(RecommendResponse::getVendorId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void returnsAtMostTheRequestedNumberOfVendors() {
+        RecommendRequest request = new RecommendRequest();
+        request.setCuisine("chinese");
+        request.setLimit(1);
+
+        List<RecommendResponse> results = recommendationService.recommend(request);
+
+        assertThat(results).extracting(RecommendResponse::getVendorId).containsExactly(2L);
+    }
+
+    @Test
+    void parallelScoringRanksLikeSequentialScoring() {
+        RecommendationService parallel = new RecommendationService(
+                featureStore, new ConcurrentMapCacheManager(), new SimpleMeterRegistry(), 1);
+        RecommendRequest request = new RecommendRequest();
+        request.setCuisine("chinese");
+        request.setSpiceLevel("spicy");
+        request.setBudget("medium");
+
+        List<RecommendResponse> results = parallel.recommend(request);
+
+        assertThat(results).extracting(RecommendResponse::getVendorId).containsExactly(2L, 1L);
+        assertThat(results).extracting(RecommendResponse::getMatchScore).containsExactly(53, 30);
+    }
+
+    @Test
+    void equivalentPreferencesShareOneCachedRanking() {
+        RecommendRequest first = new RecommendRequest();
+        first.setCuisine("Chinese ");
+        RecommendRequest second = new RecommendRequest();
+        second.setCuisine("chinese");
+
+        recommendationService.recommend(first);
+        recommendationService.recommend(second);
+
+        Cache cache = cacheManager.getCache(RecommendationService.RECOMMENDATION_CACHE);
+        assertThat(cache.get(RecommendationService.Preferences.of(second))).isNotNull();
+        assertThat((Map<?, ?>) cache.getNativeCache()).hasSize(1);
+
+        recommendationService.evictRankings();
+
+        assertThat((Map<?, ?>) cache.getNativeCache()).isEmpty();
+    }
+
+    @Test
+    void cachedRankingIsRecomputedWhenFeaturesChange() {
+        RecommendRequest request = new RecommendRequest();
+        request.setCuisine("chinese");
+        assertThat(recommendationService.recommend(request)).extracting(RecommendResponse::getVendorId)
+                .containsExactly(2L, 1L);
+
+        when(menuItemRepository.findAvailableItemFeatures()).thenReturn(List.of(
+                new Item(10L, 1L, "Pani Puri", "Classic chaat", "Snacks", "40")));
+        featureStore.rebuild();
+
+        assertThat(recommendationService.recommend(request)).extracting(RecommendResponse::getVendorId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void loadsDisplayImagesOnlyForReturnedVendors() {
+        when(vendorRepository.findDisplayImagesByIdIn(List.of(2L))).thenReturn(List.of(new Image(2L, "/img/wok.png")));
+        RecommendRequest request = new RecommendRequest();
+        request.setCuisine("chinese");
+        request.setLimit(1);
+
+        List<RecommendResponse> results = recommendationService.recommend(request);
+
+        assertThat(results).extracting(RecommendResponse::getDisplayImageUrl).containsExactly("/img/wok.png");
+        verify(vendorRepository).findDisplayImagesByIdIn(List.of(2L));
+    }
+
+    @Test
+    void limitIsClampedToTheSupportedRange() {
+        RecommendRequest request = new RecommendRequest();
+        request.setLimit(0);
+
+        assertThat(recommendationService.recommend(request)).hasSize(1);
+        assertThat(RecommendationService.resolveLimit(null)).isEqualTo(RecommendationService.DEFAULT_LIMIT);
+        assertThat(RecommendationService.resolveLimit(0)).isEqualTo(1);
+        assertThat(RecommendationService.resolveLimit(500)).isEqualTo(RecommendationService.MAX_LIMIT);
+    }
+
+    private record Card(Long id, String name, String cuisine, Double averageRating, Integer reviewCount)
+            implements VendorRepository.VendorCard {
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public String getSlug() { return name.toLowerCase().replace(' ', '-'); }
+        public String getCuisine() { return cuisine; }
+        public String getAddress() { return null; }
+        public Double getAverageRating() { return averageRating; }
+        public Integer getReviewCount() { return reviewCount; }
+    }
+
+    private record Image(Long id, String displayImageUrl) implements VendorRepository.VendorImage {
+        public Long getId() { return id; }
+        public String getDisplayImageUrl() { return displayImageUrl; }
+    }
+
+    private record Item(Long id, Long vendorId, String name, String description, String category, String price)
+            implements MenuItemRepository.MenuItemFeatures {
+        public Long getId() { return id; }
+        public Long getVendorId() { return vendorId; }
+        public String getName() { return name; }
+        public String getDescription() { return description; }
+        public String getCategory() { return category; }
+        public BigDecimal getPrice() { return new BigDecimal(price); }
+        public LocalDateTime getUpdatedAt() { return null; }
+    }
+}
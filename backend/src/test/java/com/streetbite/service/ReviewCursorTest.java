@@ -0,0 +1,37 @@
+package com.streetbite.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReviewCursorTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000);
+
+    @Test
+    void roundTripsRatedReview() {
+        ReviewService.ReviewCursor cursor = new ReviewService.ReviewCursor(4, CREATED_AT, 42L);
+
+        assertThat(ReviewService.ReviewCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsReviewWithoutRating() {
+        ReviewService.ReviewCursor cursor = new ReviewService.ReviewCursor(null, CREATED_AT, 42L);
+
+        assertThat(ReviewService.ReviewCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> ReviewService.ReviewCursor.decode("not a cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> ReviewService.ReviewCursor.decode("bnVsbHx4fDE"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+}
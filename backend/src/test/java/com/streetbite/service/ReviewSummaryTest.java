@@ -0,0 +1,41 @@
+package com.streetbite.service;
+
+import com.streetbite.dto.review.ReviewSummaryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReviewSummaryTest {
+
+    @Test
+    void summarisesStoredTotals() {
+        int[] starCounts = {1, 0, 0, 1, 0};
+        ReviewSummary summary = ReviewSummary.of(starCounts, 5, List.of(3L, 2L, 1L), 3);
+        starCounts[0] = 9;
+
+        ReviewSummaryResponse response = summary.toResponse(7L);
+        assertThat(response.getHistogram()).containsExactly(1, 0, 0, 1, 0);
+        assertThat(response.getReviewCount()).isEqualTo(2);
+        assertThat(response.getAverageRating()).isEqualTo(2.5);
+        assertThat(response.getRecentReviewIds()).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void keepsOnlyTheNewestIds() {
+        ReviewSummary summary = ReviewSummary.of(new int[]{0, 0, 0, 0, 3}, 15, List.of(3L, 2L, 1L), 2);
+
+        assertThat(summary.toResponse(7L).getRecentReviewIds()).containsExactly(3L, 2L);
+        assertThat(summary.toResponse(7L).getAverageRating()).isEqualTo(5.0);
+    }
+
+    @Test
+    void emptySummaryHasZeroAverage() {
+        ReviewSummaryResponse response = ReviewSummary.of(new int[5], 0, List.of(), 5).toResponse(7L);
+
+        assertThat(response.getReviewCount()).isZero();
+        assertThat(response.getAverageRating()).isZero();
+        assertThat(response.getRecentReviewIds()).isEmpty();
+    }
+}
@@ -0,0 +1,64 @@
+package com.streetbite.service;
+
+import com.streetbite.model.VendorStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VendorGeoIndexTest {
+
+    private static final double NASHIK_LAT = 19.9975;
+    private static final double NASHIK_LNG = 73.7898;
+
+    @Test
+    void returnsVendorsInsideRadiusOrderedByDistance() {
+        VendorGeoIndex index = new VendorGeoIndex();
+        index.upsert(1L, VendorStatus.APPROVED, NASHIK_LAT + 0.010, NASHIK_LNG);
+        index.upsert(2L, VendorStatus.AVAILABLE, NASHIK_LAT + 0.002, NASHIK_LNG);
+        index.upsert(3L, VendorStatus.BUSY, NASHIK_LAT + 0.050, NASHIK_LNG);
+
+        List<VendorGeoIndex.Hit> hits = index.findWithin(NASHIK_LAT, NASHIK_LNG, 2000);
+
+        assertThat(hits).extracting(VendorGeoIndex.Hit::vendorId).containsExactly(2L, 1L);
+        assertThat(hits.get(0).distanceMeters()).isBetween(200.0, 250.0);
+    }
+
+    @Test
+    void findsVendorsAcrossCellBoundaries() {
+        VendorGeoIndex index = new VendorGeoIndex();
+        for (int i = 0; i < 40; i++) {
+            index.upsert((long) i, VendorStatus.APPROVED, NASHIK_LAT + (i - 20) * 0.0004, NASHIK_LNG + (i - 20) * 0.0004);
+        }
+
+        assertThat(index.findWithin(NASHIK_LAT, NASHIK_LNG, 5000)).hasSize(40);
+    }
+
+    @Test
+    void blockedOrMovedVendorsLeaveTheirOldCell() {
+        VendorGeoIndex index = new VendorGeoIndex();
+        index.upsert(1L, VendorStatus.APPROVED, NASHIK_LAT, NASHIK_LNG);
+        index.upsert(2L, VendorStatus.APPROVED, NASHIK_LAT, NASHIK_LNG);
+
+        index.upsert(1L, VendorStatus.BANNED, NASHIK_LAT, NASHIK_LNG);
+        index.upsert(2L, VendorStatus.APPROVED, NASHIK_LAT + 1.0, NASHIK_LNG);
+
+        assertThat(index.findWithin(NASHIK_LAT, NASHIK_LNG, 2000)).isEmpty();
+        assertThat(index.findWithin(NASHIK_LAT + 1.0, NASHIK_LNG, 2000))
+                .extracting(VendorGeoIndex.Hit::vendorId)
+                .containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removedVendorsAreNoLongerReturned() {
+        VendorGeoIndex index = new VendorGeoIndex();
+        index.upsert(1L, VendorStatus.APPROVED, NASHIK_LAT, NASHIK_LNG);
+
+        index.remove(1L);
+
+        assertThat(index.findWithin(NASHIK_LAT, NASHIK_LNG, 2000)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+}
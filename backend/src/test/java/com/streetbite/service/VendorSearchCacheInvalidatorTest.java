@@ -0,0 +1,70 @@
+package com.streetbite.service;
+
+import com.streetbite.model.VendorStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VendorSearchCacheInvalidatorTest {
+
+    private Cache cache;
+    private VendorSearchService vendorSearchService;
+    private VendorSearchCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(VendorSearchService.SEARCH_CACHE);
+        cache = cacheManager.getCache(VendorSearchService.SEARCH_CACHE);
+        vendorSearchService = mock(VendorSearchService.class);
+        invalidator = new VendorSearchCacheInvalidator(cacheManager, vendorSearchService);
+
+        cache.put("tek2a", List.of(new VendorSearchService.Candidate(1L, 20.0, 73.8)));
+        cache.put("tek2b", List.of(new VendorSearchService.Candidate(2L, 20.0, 73.9)));
+        cache.put("tek2c", List.of());
+    }
+
+    @Test
+    void movedVendorEvictsOldAndNewCellsOnly() {
+        when(vendorSearchService.cellKeyFor(21.0, 74.0)).thenReturn("tek2c");
+        when(vendorSearchService.cellKeyFor(20.0, 73.8)).thenReturn("tek2a");
+
+        invalidator.handleVendorUpdated(new RealtimeSyncEvents.VendorUpdatedEvent(
+                1L, VendorStatus.APPROVED, 21.0, 74.0, "New spot", 20.0, 73.8));
+
+        assertThat(cache.get("tek2a")).isNull();
+        assertThat(cache.get("tek2c")).isNull();
+        assertThat(cache.get("tek2b")).isNotNull();
+        verify(vendorSearchService).markCellChanged("tek2a");
+        verify(vendorSearchService).markCellChanged("tek2c");
+    }
+
+    @Test
+    void newVendorEvictsOnlyItsCell() {
+        when(vendorSearchService.cellKeyFor(20.0, 73.9)).thenReturn("tek2c");
+
+        invalidator.handleVendorUpdated(new RealtimeSyncEvents.VendorUpdatedEvent(
+                2L, VendorStatus.APPROVED, 20.0, 73.9, "Same spot", null, null));
+
+        assertThat(cache.get("tek2c")).isNull();
+        assertThat(cache.get("tek2a")).isNotNull();
+        // Cells are evicted by key, not by scanning the cached candidate lists
+        assertThat(cache.get("tek2b")).isNotNull();
+    }
+
+    @Test
+    void deletedVendorEvictsCellsListingIt() {
+        invalidator.handleVendorDeleted(new RealtimeSyncEvents.VendorDeletedEvent(2L));
+
+        assertThat(cache.get("tek2b")).isNull();
+        assertThat(cache.get("tek2a")).isNotNull();
+        assertThat(cache.get("tek2c")).isNotNull();
+    }
+}
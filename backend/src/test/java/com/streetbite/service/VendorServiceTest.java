@@ -36,6 +36,9 @@ class VendorServiceTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private ImageExternalizationService imageExternalizationService;
+
     @InjectMocks
     private VendorService vendorService;
 
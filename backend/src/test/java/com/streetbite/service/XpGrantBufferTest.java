@@ -0,0 +1,53 @@
+package com.streetbite.service;
+
+import com.streetbite.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class XpGrantBufferTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    void mergesGrantsForTheSameUser() {
+        XpGrantBuffer buffer = new XpGrantBuffer(userRepository, true);
+
+        buffer.add(1L, new XpGrantBuffer.Grant(10, 10, 0, 0));
+        XpGrantBuffer.Grant merged = buffer.add(1L, new XpGrantBuffer.Grant(5, 0, 5, 0));
+
+        assertThat(merged).isEqualTo(new XpGrantBuffer.Grant(15, 10, 5, 0));
+        assertThat(buffer.pendingFor(1L)).isEqualTo(merged);
+        assertThat(buffer.pendingFor(2L)).isEqualTo(XpGrantBuffer.Grant.NONE);
+    }
+
+    @Test
+    void failedFlushKeepsGrantAndMergesLaterOnes() {
+        XpGrantBuffer buffer = new XpGrantBuffer(userRepository, true);
+        when(userRepository.applyXpGrant(1L, 10, 10, 0, 0))
+                .thenThrow(new DataAccessResourceFailureException("database unavailable"));
+
+        buffer.add(1L, new XpGrantBuffer.Grant(10, 10, 0, 0));
+        buffer.flush();
+
+        assertThat(buffer.pendingFor(1L)).isEqualTo(new XpGrantBuffer.Grant(10, 10, 0, 0));
+
+        buffer.add(1L, new XpGrantBuffer.Grant(5, 0, 0, 5));
+        when(userRepository.applyXpGrant(1L, 15, 10, 0, 5)).thenReturn(1);
+        buffer.flush();
+
+        verify(userRepository).applyXpGrant(1L, 10, 10, 0, 0);
+        verify(userRepository).applyXpGrant(1L, 15, 10, 0, 5);
+        verifyNoMoreInteractions(userRepository);
+        assertThat(buffer.pendingFor(1L)).isEqualTo(XpGrantBuffer.Grant.NONE);
+    }
+}
@@ -0,0 +1,62 @@
+package com.streetbite.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void countsSmallSetsExactlyAndIgnoresRepeats() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long user = 1; user <= 10; user++) {
+            sketch.add(user);
+            sketch.add(user);
+        }
+
+        assertThat(sketch.estimate()).isEqualTo(10);
+        assertThat(new HyperLogLog().estimate()).isZero();
+    }
+
+    @Test
+    void estimatesLargeSetsWithinAFewPercent() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long user = 0; user < 100_000; user++) {
+            sketch.add(user);
+        }
+
+        assertThat((double) sketch.estimate()).isCloseTo(100_000, within(5_000.0));
+    }
+
+    @Test
+    void mergedDailySketchesCountUsersSeenOnSeveralDaysOnce() {
+        HyperLogLog monday = new HyperLogLog();
+        HyperLogLog tuesday = new HyperLogLog();
+        for (long user = 0; user < 30_000; user++) {
+            monday.add(user);
+        }
+        for (long user = 20_000; user < 50_000; user++) {
+            tuesday.add(user);
+        }
+
+        monday.merge(tuesday);
+
+        assertThat((double) monday.estimate()).isCloseTo(50_000, within(2_500.0));
+    }
+
+    @Test
+    void survivesSerialization() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long user = 0; user < 5_000; user++) {
+            sketch.add(user * 31);
+        }
+
+        byte[] bytes = sketch.toBytes();
+
+        assertThat(bytes).hasSize(HyperLogLog.SERIALIZED_SIZE);
+        assertThat(HyperLogLog.fromBytes(bytes).estimate()).isEqualTo(sketch.estimate());
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[10])).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,42 @@
+package com.streetbite.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeywordMatcherTest {
+
+    private final KeywordMatcher matcher = KeywordMatcher.compile(List.of(
+            Set.of("hot", "schezwan"),
+            Set.of("extra spicy", "ghost pepper"),
+            Set.of("roll", "chaat")));
+
+    @Test
+    void reportsEveryMatchedCategoryInOnePass() {
+        assertThat(matcher.match("Schezwan Paneer Roll", null, "Mains")).isEqualTo(0b101);
+        assertThat(matcher.match("Plain dosa", "Served with chutney", "Breakfast")).isZero();
+    }
+
+    @Test
+    void findsOverlappingAndCaseInsensitiveKeywords() {
+        // "shot" contains "hot"; "GHOST PEPPER" only matches case-insensitively
+        assertThat(matcher.match("Espresso shot", null, null)).isEqualTo(0b001);
+        assertThat(matcher.match("GHOST PEPPER wings", null, null)).isEqualTo(0b010);
+    }
+
+    @Test
+    void matchesKeywordsSpanningTheFieldSeparator() {
+        // Same result as matching "extra spicy momos" built by concatenation
+        assertThat(matcher.match("Extra", "spicy momos", null)).isEqualTo(0b010);
+    }
+
+    @Test
+    void rejectsNonAsciiKeywords() {
+        assertThatThrownBy(() -> KeywordMatcher.compile(List.of(Set.of("jalapeño"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.streetbite.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankedBoardTest {
+
+    @Test
+    void ordersByScoreThenIdAndTracksUpdates() {
+        RankedBoard board = new RankedBoard();
+        board.put(1, 100);
+        board.put(2, 300);
+        board.put(3, 100);
+        board.put(4, 200);
+
+        assertThat(board.top(10)).containsExactly(
+                new RankedBoard.Entry(2, 300),
+                new RankedBoard.Entry(4, 200),
+                new RankedBoard.Entry(1, 100),
+                new RankedBoard.Entry(3, 100));
+        assertThat(board.rankOf(3)).isEqualTo(4);
+        assertThat(board.countAbove(100)).isEqualTo(2);
+
+        board.put(3, 350);
+        assertThat(board.rankOf(3)).isEqualTo(1);
+        assertThat(board.rankOf(2)).isEqualTo(2);
+
+        assertThat(board.remove(2)).isTrue();
+        assertThat(board.remove(2)).isFalse();
+        assertThat(board.rankOf(2)).isZero();
+        assertThat(board.top(2)).extracting(RankedBoard.Entry::id).containsExactly(3L, 4L);
+        assertThat(board.size()).isEqualTo(3);
+    }
+
+    @Test
+    void matchesASortedListUnderRandomUpdates() {
+        RankedBoard board = new RankedBoard();
+        Map<Long, Integer> scores = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5_000; i++) {
+            long id = random.nextInt(500);
+            if (random.nextInt(10) == 0) {
+                board.remove(id);
+                scores.remove(id);
+            } else {
+                int score = random.nextInt(1_000);
+                board.put(id, score);
+                scores.put(id, score);
+            }
+        }
+
+        List<Map.Entry<Long, Integer>> expected = new ArrayList<>(scores.entrySet());
+        expected.sort(Comparator.<Map.Entry<Long, Integer>>comparingInt(Map.Entry::getValue).reversed()
+                .thenComparing(Map.Entry::getKey));
+
+        assertThat(board.size()).isEqualTo(expected.size());
+        List<RankedBoard.Entry> top = board.top(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(top.get(i).id()).isEqualTo(expected.get(i).getKey());
+            assertThat(board.rankOf(expected.get(i).getKey())).isEqualTo(i + 1);
+        }
+    }
+}